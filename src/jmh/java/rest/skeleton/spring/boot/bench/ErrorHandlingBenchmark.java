@@ -0,0 +1,72 @@
+package rest.skeleton.spring.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import rest.skeleton.spring.boot.controller.dto.CreateSampleEntityRequest;
+import rest.skeleton.spring.boot.controller.error.ApiError;
+import rest.skeleton.spring.boot.controller.error.GlobalExceptionHandler;
+import rest.skeleton.spring.boot.service.ResourceNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an exception into an {@link ApiError} response, including the {@code MessageSource} lookup
+ * of the localized message. The message source is set up like Spring Boot's default ({@code messages} bundle).
+ * Exceptions are created once, so stack trace capture is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorHandlingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private ResourceNotFoundException notFound;
+    private IllegalArgumentException invalidArgument;
+    private MethodArgumentNotValidException invalidBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        handler = new GlobalExceptionHandler(messageSource);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/sample-entities"));
+
+        notFound = new ResourceNotFoundException("SampleEntity with id 42 not found");
+        invalidArgument = new IllegalArgumentException("name must not be blank for PUT");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new CreateSampleEntityRequest(), "request");
+        bindingResult.rejectValue("name", "NotBlank", "must not be blank");
+        MethodParameter parameter = new MethodParameter(
+                ErrorHandlingBenchmark.class.getDeclaredMethod("body", CreateSampleEntityRequest.class), 0);
+        invalidBody = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> notFound() {
+        return handler.handleNotFound(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> invalidArgument() {
+        return handler.handleIllegalArgument(invalidArgument);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> validationError() throws Exception {
+        // Dispatches through ResponseEntityExceptionHandler, as MVC does for @Valid failures
+        return handler.handleException(invalidBody, webRequest);
+    }
+
+    @SuppressWarnings("unused")
+    private void body(CreateSampleEntityRequest request) {
+    }
+}
@@ -0,0 +1,98 @@
+package rest.skeleton.spring.boot.bench;
+
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import rest.skeleton.spring.boot.Main;
+import rest.skeleton.spring.boot.config.JwtService;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Whole request path through MockMvc: the Spring Security filter chain (JWT enabled), dispatch, controller,
+ * service, H2 and JSON serialization. No socket I/O is involved. The id cache stays enabled, as in production,
+ * so {@code getById} mostly measures the web and security layers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterChainBenchmark {
+
+    private static final String CREATE_JSON = "{\"name\": \"bench\", \"description\": \"created by FilterChainBenchmark\"}";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String bearer;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .profiles("dev")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "app.security.enabled=true", "app.security.jwt.enabled=true")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+        bearer = "Bearer " + context.getBean(JwtService.class).issueToken("bench-user", List.of("ROLE_USER"));
+
+        SampleEntityRepository repository = context.getBean(SampleEntityRepository.class);
+        List<SampleEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SampleEntity e = new SampleEntity();
+            e.setName("bench-" + i);
+            e.setDescription("description of row " + i);
+            rows.add(e);
+        }
+        id = repository.saveAll(rows).get(50).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById_anonymous() throws Exception {
+        return mockMvc.perform(get("/api/v1/sample-entities/{id}", id)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int getById_bearer() throws Exception {
+        return mockMvc.perform(get("/api/v1/sample-entities/{id}", id).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int listPage() throws Exception {
+        return mockMvc.perform(get("/api/v1/sample-entities").param("size", "20"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int notFound() throws Exception {
+        return mockMvc.perform(get("/api/v1/sample-entities/{id}", Long.MAX_VALUE))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int create_bearer() throws Exception {
+        return mockMvc.perform(post("/api/v1/sample-entities").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(CREATE_JSON))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,91 @@
+package rest.skeleton.spring.boot.bench;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import rest.skeleton.spring.boot.config.JwtService;
+import rest.skeleton.spring.boot.config.SecurityProperties;
+import rest.skeleton.spring.boot.config.VerifiedTokenCache;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request cost of turning a Bearer token into an {@link Authentication}:
+ * <ul>
+ *     <li>{@code perRequestParser}: the previous path (new parser per call, parse + verify, rebuild authorities)</li>
+ *     <li>{@code sharedParser}: {@link JwtService#validateAndParse} with the reusable parser, no cache</li>
+ *     <li>{@code verifiedTokenCache}: digest lookup of an already verified token</li>
+ * </ul>
+ * {@code issueToken} and {@code validateAndParse} measure the two {@link JwtService} operations on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthBenchmark {
+
+    private static final List<String> ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    private SecurityProperties props;
+    private SecretKey key;
+    private JwtService jwtService;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        props = new SecurityProperties();
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(props.getJwt().getSecret()));
+        jwtService = new JwtService(props);
+        cache = new VerifiedTokenCache(jwtService, 10_000);
+        token = jwtService.issueToken("bench-user", ROLES);
+        cache.authenticate(token);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return jwtService.issueToken("bench-user", ROLES);
+    }
+
+    @Benchmark
+    public Claims validateAndParse() {
+        return jwtService.validateAndParse(token);
+    }
+
+    @Benchmark
+    public Authentication perRequestParser() {
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(props.getJwt().getIssuer())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return toAuthentication(claims);
+    }
+
+    @Benchmark
+    public Authentication sharedParser() {
+        return toAuthentication(jwtService.validateAndParse(token));
+    }
+
+    @Benchmark
+    public Authentication verifiedTokenCache() {
+        return cache.authenticate(token);
+    }
+
+    private Authentication toAuthentication(Claims claims) {
+        var roles = (List<?>) claims.getOrDefault("roles", List.of());
+        var authorities = roles.stream()
+                .map(String::valueOf)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), token, authorities);
+    }
+}
@@ -0,0 +1,82 @@
+package rest.skeleton.spring.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.Main;
+import rest.skeleton.spring.boot.controller.dto.SampleEntityDto;
+import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two read paths for a page of 50 rows and a single row: managed entities copied by the mapper
+ * versus {@code SampleEntityView} constructor projections. Both run in a read-only transaction, as the
+ * service methods do. Compare {@code gc.alloc.rate.norm} (bytes allocated per operation) from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 50);
+
+    private ConfigurableApplicationContext context;
+    private SampleEntityRepository repository;
+    private TransactionTemplate readOnly;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .profiles("dev")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "app.cache.enabled=false")
+                .run();
+        repository = context.getBean(SampleEntityRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<SampleEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            SampleEntity e = new SampleEntity();
+            e.setName("bench-" + i);
+            e.setDescription("description of row " + i);
+            rows.add(e);
+        }
+        id = repository.saveAll(rows).get(500).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SampleEntityDto> listPage_entities() {
+        return readOnly.execute(s -> repository.findAll(PAGE).map(SampleEntityMapper::toDto).getContent());
+    }
+
+    @Benchmark
+    public List<SampleEntityDto> listPage_projection() {
+        return readOnly.execute(s -> repository.findViewPage(PAGE).map(SampleEntityMapper::toDto).getContent());
+    }
+
+    @Benchmark
+    public SampleEntityDto getById_entity() {
+        return readOnly.execute(s -> SampleEntityMapper.toDto(repository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public SampleEntityDto getById_projection() {
+        return readOnly.execute(s -> SampleEntityMapper.toDto(repository.findViewById(id).orElseThrow()));
+    }
+}
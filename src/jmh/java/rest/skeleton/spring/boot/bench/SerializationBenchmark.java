@@ -0,0 +1,76 @@
+package rest.skeleton.spring.boot.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import rest.skeleton.spring.boot.controller.dto.SampleEntityDto;
+import rest.skeleton.spring.boot.controller.dto.SliceDto;
+import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response-building cost without the database: mapping rows to {@link SampleEntityDto} and writing the JSON
+ * body. Pages are serialized the way the list endpoint does it, as a {@link SliceDto} built from a
+ * {@code Page<SampleEntityDto>} of 50 items. The {@link ObjectMapper} is configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SampleEntity entity;
+    private SampleEntityView view;
+    private SampleEntityDto dto;
+    private PageImpl<SampleEntityDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Instant now = Instant.now();
+
+        entity = new SampleEntity();
+        entity.setId(42L);
+        entity.setName("bench");
+        entity.setDescription("description of row 42");
+        entity.setCreatedAt(now);
+        entity.setVersion(3L);
+        view = new SampleEntityView(42L, "bench", "description of row 42", now, 3L);
+        dto = SampleEntityMapper.toDto(view);
+
+        List<SampleEntityDto> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(SampleEntityMapper.toDto(new SampleEntityView((long) i, "bench-" + i, "description of row " + i, now, 0L)));
+        }
+        page = new PageImpl<>(rows, PageRequest.of(0, 50), 1_000);
+    }
+
+    @Benchmark
+    public SampleEntityDto toDto_entity() {
+        return SampleEntityMapper.toDto(entity);
+    }
+
+    @Benchmark
+    public SampleEntityDto toDto_view() {
+        return SampleEntityMapper.toDto(view);
+    }
+
+    @Benchmark
+    public byte[] serialize_dto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] serialize_page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(SliceDto.from(page));
+    }
+}
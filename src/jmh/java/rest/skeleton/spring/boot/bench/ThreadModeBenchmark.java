@@ -0,0 +1,135 @@
+package rest.skeleton.spring.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import rest.skeleton.spring.boot.Main;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a cheap request ({@code /actuator/health/liveness}) and of a database read while {@code slowClients}
+ * concurrent clients keep reading through a slow database (each connection checkout takes
+ * {@code queryDelayMillis}), with platform request threads vs virtual threads. On platform threads the slow reads
+ * occupy Tomcat's worker threads and the cheap request queues behind them; on virtual threads it is served
+ * directly, and the slow reads wait at the connection guard instead. Caches are off so every read reaches the
+ * database. Runs over real HTTP on a random port.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadModeBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"400"})
+    private int slowClients;
+
+    @Param({"20"})
+    private int queryDelayMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient http;
+    private HttpRequest liveness;
+    private HttpRequest read;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .profiles("dev")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "app.cache.enabled=false", "app.cache.hibernate.enabled=false")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(slowDatabase(queryDelayMillis)))
+                .run();
+        SampleEntity e = new SampleEntity();
+        e.setName("thread-mode");
+        e.setDescription("read by ThreadModeBenchmark");
+        long id = context.getBean(SampleEntityRepository.class).save(e).getId();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        liveness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/liveness")).build();
+        read = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/sample-entities/" + id)).build();
+
+        running = true;
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < slowClients; i++) {
+            clients.execute(() -> {
+                while (running) {
+                    try {
+                        http.send(read, HttpResponse.BodyHandlers.discarding());
+                    } catch (IOException ex) {
+                        // keep the load up; errors under overload are part of what is measured
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        clients.shutdownNow();
+        clients.awaitTermination(30, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public int liveness() throws IOException, InterruptedException {
+        return http.send(liveness, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int readUnderLoad() throws IOException, InterruptedException {
+        return http.send(read, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Wraps the data source so that every connection checkout holds the connection for {@code delayMillis}. */
+    private static BeanPostProcessor slowDatabase(int delayMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        Connection connection = super.getConnection();
+                        try {
+                            Thread.sleep(delayMillis);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return connection;
+                    }
+                };
+            }
+        };
+    }
+}
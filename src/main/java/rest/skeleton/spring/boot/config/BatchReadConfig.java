@@ -0,0 +1,12 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers settings for reads by id list and the coalescing of concurrent single-id lookups.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchReadProperties.class)
+public class BatchReadConfig {
+}
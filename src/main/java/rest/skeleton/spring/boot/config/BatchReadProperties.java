@@ -0,0 +1,56 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.batch-read")
+public class BatchReadProperties {
+
+    /** Most ids accepted by a single batch read ({@code ?ids=} or {@code :batchGet}). */
+    private int maxIds = 1000;
+    /**
+     * Most ids per {@code IN} query; longer lists are split into chunks of this size. Hibernate pads each list to
+     * the next power of two ({@code hibernate.query.in_clause_parameter_padding}).
+     */
+    private int chunkSize = 512;
+    /**
+     * How long a single-id lookup waits for others to share its query while another lookup is in flight (with none
+     * in flight it queries at once); zero queries each id on its own.
+     */
+    private Duration coalesceWindow = Duration.ofMillis(2);
+    /** Most ids coalesced into one query; a full batch is sent without waiting for the window to end. */
+    private int coalesceMaxBatchSize = 128;
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public int getCoalesceMaxBatchSize() {
+        return coalesceMaxBatchSize;
+    }
+
+    public void setCoalesceMaxBatchSize(int coalesceMaxBatchSize) {
+        this.coalesceMaxBatchSize = coalesceMaxBatchSize;
+    }
+}
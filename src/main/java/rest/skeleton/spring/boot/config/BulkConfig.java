@@ -0,0 +1,12 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers settings for bulk write endpoints (chunk sizes, request limits).
+ */
+@Configuration
+@EnableConfigurationProperties(BulkProperties.class)
+public class BulkConfig {
+}
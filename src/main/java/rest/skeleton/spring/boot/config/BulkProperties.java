@@ -0,0 +1,58 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkProperties {
+
+    /** Maximum number of items accepted by a single batch request. */
+    private int maxItems = 10000;
+    /** Number of rows committed per transaction. */
+    private int chunkSize = 500;
+    /** JDBC batch size used by Hibernate while flushing a chunk. */
+    private int jdbcBatchSize = 50;
+    /** Maximum number of per-line errors reported back by an import; further errors are only counted. */
+    private int importMaxErrors = 100;
+    /** Maximum length of a single import record (NDJSON line or CSV row, including quoted line breaks). */
+    private int importMaxLineLength = 16384;
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    public int getImportMaxErrors() {
+        return importMaxErrors;
+    }
+
+    public void setImportMaxErrors(int importMaxErrors) {
+        this.importMaxErrors = importMaxErrors;
+    }
+
+    public int getImportMaxLineLength() {
+        return importMaxLineLength;
+    }
+
+    public void setImportMaxLineLength(int importMaxLineLength) {
+        this.importMaxLineLength = importMaxLineLength;
+    }
+}
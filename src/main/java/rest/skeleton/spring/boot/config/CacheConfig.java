@@ -0,0 +1,111 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * In-process cache configuration.
+ *
+ * The caching advice is ordered outside the transactional advice so cache hits never open a transaction,
+ * and caches are wrapped transaction-aware so evictions requested inside a transaction only apply after commit.
+ * Entries are {@link VersionedEntityCache}s, so a read-through put racing a write cannot restore an older version.
+ * Cache statistics are recorded and published by Actuator as {@code cache.gets}, {@code cache.evictions}, etc.
+ *
+ * Hibernate's query cache uses JCache regions from a Caffeine-backed {@link javax.cache.CacheManager}
+ * owned by this context, sized per region from {@code app.cache.hibernate.regions}. With statistics enabled,
+ * query cache hits, misses and puts are published as {@code hibernate.cache.query.*} metrics.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class CacheConfig {
+
+    public static final String SAMPLE_ENTITIES = "sampleEntities";
+    /** Query cache region of the list pages (see {@code SampleEntityRepository#findCachedViewPage}). */
+    public static final String SAMPLE_ENTITY_LIST_REGION = "sample-entity-list";
+
+    @Bean
+    public CacheManager cacheManager(EntityCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name,
+                                                                       com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionedEntityCache(name, cache);
+            }
+        };
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats());
+        caffeine.setAllowNullValues(false);
+        caffeine.setCacheNames(List.of(SAMPLE_ENTITIES));
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+
+    /**
+     * Regions are created up front from {@code app.cache.hibernate.regions}; regions without settings (such as
+     * the default query region) are created by Hibernate with Caffeine's defaults. The update-timestamps region
+     * backs query cache invalidation and is never bounded: evicting a timestamp would let stale query results
+     * through. The URI is unique so that each application context gets its own manager.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(EntityCacheProperties properties) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getHibernate().getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStoreByValue(false);
+            if (!RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(name)) {
+                configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Second-level caching is switched off in {@code application.yml} and only turned on here, together with
+     * the cache manager it needs, so that contexts without this configuration (e.g. JPA slice tests) never
+     * pick up a JCache provider implicitly.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(EntityCacheProperties properties,
+                                                                    javax.cache.CacheManager hibernateCacheManager) {
+        EntityCacheProperties.Hibernate hibernate = properties.getHibernate();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, hibernate.isStatistics());
+            if (!hibernate.isEnabled()) {
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Wraps a username/password {@link AuthenticationProvider} (whose password encoder is deliberately slow) with a
+ * short-lived cache of successfully verified credentials, so clients sending HTTP Basic on every request pay
+ * for the hash check once per TTL instead of once per request.
+ *
+ * Keys are HMAC-SHA256 digests of {@code username:password} under a random per-process key: neither the
+ * password nor an offline-attackable unsalted hash is kept in memory. Only successful checks are cached, so
+ * failed attempts always go through the full check. Account changes (password, lock, roles) take effect
+ * after at most {@code ttl}.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final Mac macPrototype;
+    private final Cache<String, VerifiedCredentials> cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.macPrototype = newMac();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        String key = digest(authentication.getName(), password);
+        VerifiedCredentials cached = cache.getIfPresent(key);
+        if (cached != null) {
+            // Fresh token per request: details (remote address etc.) belong to this request, not the cached one
+            UsernamePasswordAuthenticationToken result =
+                    UsernamePasswordAuthenticationToken.authenticated(cached.principal(), null, cached.authorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, new VerifiedCredentials(result.getPrincipal(), List.copyOf(result.getAuthorities())));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /** Native cache, exposed for metrics binding. */
+    public Cache<String, VerifiedCredentials> nativeCache() {
+        return cache;
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = (Mac) macPrototype.clone();
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            byte[] hash = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+        }
+    }
+
+    private static Mac newMac() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    /** Outcome of a successful check; the principal's credentials are erased by the ProviderManager. */
+    public record VerifiedCredentials(Object principal, Collection<? extends GrantedAuthority> authorities) {
+    }
+}
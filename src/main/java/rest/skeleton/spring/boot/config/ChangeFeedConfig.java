@@ -0,0 +1,12 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers settings for the sample_entity outbox, its relay and {@code GET /api/v1/sample-entities/changes}.
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+}
@@ -0,0 +1,80 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    /** Record changes in the outbox, run the relay and serve {@code GET /api/v1/sample-entities/changes}. */
+    private boolean enabled = true;
+    /** How often the relay looks for unpublished outbox rows; commits on this instance also wake it directly. */
+    private Duration relayInterval = Duration.ofSeconds(1);
+    /** Outbox rows published (and purged) per relay transaction. */
+    private int batchSize = 500;
+    /** Most recent changes kept in memory, so that consumers that are caught up are served without a query. */
+    private int bufferSize = 10000;
+    /** How long published changes are kept; cursors pointing before the oldest kept change get 410 Gone. */
+    private Duration retention = Duration.ofDays(7);
+    /** Maximum duration of one Server-Sent Events response; clients reconnect with {@code Last-Event-ID}. */
+    private Duration streamTimeout = Duration.ofMinutes(5);
+    /** Keep-alive comment interval on idle Server-Sent Events streams. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRelayInterval() {
+        return relayInterval;
+    }
+
+    public void setRelayInterval(Duration relayInterval) {
+        this.relayInterval = relayInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
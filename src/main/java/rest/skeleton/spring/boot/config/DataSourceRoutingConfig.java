@@ -0,0 +1,118 @@
+package rest.skeleton.spring.boot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured datasource with a read/write routing one when
+ * {@code app.datasource.routing.enabled=true}. The primary pool is built from {@code spring.datasource.*}
+ * (including {@code spring.datasource.hikari.*}); each replica gets its own read-only Hikari pool.
+ * JPA, Flyway and JDBC all see the {@link Primary} lazy proxy, so Flyway and writes always hit the primary.
+ * In virtual-thread mode each of these pools sits behind its own {@link JdbcConnectionGuard}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 DataSourceRoutingProperties properties,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 ObjectProvider<JdbcConnectionGuard> connectionGuard) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        // Virtual-thread mode: each pool gets its own guard, in front of the physical checkout
+        JdbcConnectionGuard guard = connectionGuard.getIfAvailable();
+        List<DataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica settings : properties.getReplicas()) {
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(settings.getUrl())
+                    .username(settings.getUsername())
+                    .password(settings.getPassword());
+            if (settings.getDriverClassName() != null) {
+                builder.driverClassName(settings.getDriverClassName());
+            }
+            HikariDataSource replica = builder.build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(settings.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(guard != null ? guard.guard(replica.getPoolName(), replica) : replica);
+        }
+
+        DataSource primaryPool = guard != null ? guard.guard(primary.getPoolName(), primary) : primary;
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryPool, replicas,
+                properties.getHealthCheckTimeout(), DataSourceRoutingConfig::currentCaller, properties.getReadYourWrites());
+        routing.startHealthChecks(properties.getHealthCheckInterval());
+        meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.replicas.healthy", routing,
+                        ReadWriteRoutingDataSource::healthyReplicaCount)
+                .description("Replicas currently eligible for read-only transactions")
+                .register(registry));
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Hibernate otherwise holds the first physical connection until the session closes. With open-in-view the
+     * session spans the whole request, so a write after a read-only transaction would reuse the replica
+     * connection; releasing after each transaction lets every transaction be routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Read-your-writes identity: a digest of the request's credentials, else the client IP, else unknown (never
+     * pinned). The credentials are not verified here, which would resolve the deferred authentication (see
+     * {@link SecurityConfig}); unverified credentials cannot pin anything, as only authenticated writes do.
+     */
+    static String currentCaller() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String credentials = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (credentials != null && !credentials.isBlank()) {
+            return "cred:" + VerifiedTokenCache.digest(credentials);
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,151 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write datasource routing. When enabled, read-only transactions run on one of the {@code replicas}
+ * (round-robin over the healthy ones) and everything else runs on the primary ({@code spring.datasource.*}).
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /** Route read-only transactions to replicas; off by default, so the single primary datasource is used. */
+    private boolean enabled = false;
+    /** Replica connection settings; with none configured all traffic stays on the primary. */
+    private List<Replica> replicas = new ArrayList<>();
+    /** How often replicas are probed; an unhealthy replica is skipped until a probe succeeds again. */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    /** Maximum time a probe may wait for a replica connection to validate. */
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public Duration getHealthCheckTimeout() {
+        return healthCheckTimeout;
+    }
+
+    public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+        this.healthCheckTimeout = healthCheckTimeout;
+    }
+
+    public ReadYourWrites getReadYourWrites() {
+        return readYourWrites;
+    }
+
+    public void setReadYourWrites(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        /** Defaults to the driver detected from the URL. */
+        private String driverClassName;
+        /** Hikari pool size for this replica. */
+        private int maximumPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+
+    /**
+     * After a caller writes, its read-only transactions stay on the primary for {@code window}, so it reads its
+     * own writes despite replication lag. Callers are identified by authenticated subject, else by client IP.
+     */
+    public static class ReadYourWrites {
+        private boolean enabled = false;
+        /** Should exceed the typical replication lag. */
+        private Duration window = Duration.ofSeconds(2);
+        /** Upper bound on callers tracked at once. */
+        private long maximumCallers = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public long getMaximumCallers() {
+            return maximumCallers;
+        }
+
+        public void setMaximumCallers(long maximumCallers) {
+            this.maximumCallers = maximumCallers;
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package rest.skeleton.spring.boot.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.flywaydb.core.Flyway;
-import org.flywaydb.core.api.output.MigrateResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Startup checks and warm-up. Both run as {@link ApplicationRunner}s, which Spring Boot completes before it
+ * publishes {@code ReadinessState.ACCEPTING_TRAFFIC}; {@code /actuator/health/readiness} therefore stays
+ * OUT_OF_SERVICE until the pool is filled and the hot statements have been prepared.
+ */
 @Configuration
+@EnableConfigurationProperties(DatabaseWarmupProperties.class)
 public class DatabaseStartupVerifier {
     private static final Logger log = LoggerFactory.getLogger(DatabaseStartupVerifier.class);
 
+    /** Never matches a row: ids come from a sequence starting at 1. */
+    private static final long ABSENT_ID = -1L;
+
     @Bean
+    @Order(0)
     public ApplicationRunner databaseCheckRunner(DataSource dataSource, Flyway flyway) {
         return new ApplicationRunner() {
             @Override
             public void run(ApplicationArguments args) throws Exception {
                 try {
-                    String url = dataSource.getConnection().getMetaData().getURL();
-                    log.info("[DB-STARTUP] Verifying connectivity to datasource: {}", url);
+                    long start = System.nanoTime();
+                    String url;
+                    try (Connection connection = dataSource.getConnection()) {
+                        url = connection.getMetaData().getURL();
+                    }
+                    log.info("[DB-STARTUP] Verified connectivity to datasource: {} in {} ms", url, millisSince(start));
 
                     // Flyway migrations are auto-run by Spring Boot before this runner executes.
                     // We surface the current migration state for observability.
@@ -39,4 +65,99 @@ public class DatabaseStartupVerifier {
             }
         };
     }
+
+    @Bean
+    @Order(1)
+    public ApplicationRunner databaseWarmupRunner(DataSource dataSource, SampleEntityRepository repository,
+                                                  PlatformTransactionManager transactionManager,
+                                                  DatabaseWarmupProperties properties) {
+        return args -> {
+            if (!properties.isEnabled()) {
+                return;
+            }
+            long start = System.nanoTime();
+            Runnable warmUp = () -> warmStatements(repository, transactionManager, properties.getIterations());
+            if (properties.isFillPool()) {
+                fillPool(dataSource, warmUp);
+            } else {
+                warmUp.run();
+            }
+            log.info("[DB-STARTUP] Warm-up finished in {} ms", millisSince(start));
+        };
+    }
+
+    /**
+     * Holds {@code minimumIdle} connections at once so the pool has to open them now. Hikari would otherwise
+     * fill the pool in the background while the first requests are already waiting. The connections are then
+     * handed back one at a time, and {@code warmUp} runs while the returned one is the only connection this
+     * thread can borrow: driver-side statement caches (pgjdbc's among them) are per connection, so warming a
+     * single connection would leave the others cold. Other data sources run {@code warmUp} once.
+     */
+    static void fillPool(DataSource dataSource, Runnable warmUp) throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            log.info("[DB-STARTUP] Pool fill skipped: datasource is not a Hikari pool");
+            warmUp.run();
+            return;
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int target = Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize());
+        long start = System.nanoTime();
+        List<Connection> held = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                held.add(hikari.getConnection());
+            }
+            log.info("[DB-STARTUP] Filled pool '{}' to {} connections in {} ms", hikari.getPoolName(), target,
+                    millisSince(start));
+            for (int i = 0; i < held.size(); i++) {
+                // Hikari hands a thread the connection it returned last, and all others are still held
+                held.get(i).close();
+                warmUp.run();
+                held.set(i, hikari.getConnection());
+            }
+        } finally {
+            for (Connection connection : held) {
+                // Closing a Hikari connection twice is a no-op
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the statements behind the CRUD endpoints against an id that cannot exist. Writes run in a
+     * transaction that is rolled back, so nothing changes even if they were to match.
+     */
+    static void warmStatements(SampleEntityRepository repository, PlatformTransactionManager transactionManager,
+                               int iterations) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            readOnly.executeWithoutResult(status -> {
+                repository.findViewById(ABSENT_ID);
+                repository.findVersionById(ABSENT_ID);
+                repository.findViewSlice(PageRequest.of(0, 20));
+                repository.findViewsAfter(0L, Limit.of(20));
+            });
+        }
+        log.debug("[DB-STARTUP] Warmed read statements ({} iterations) in {} ms", iterations, millisSince(start));
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            readWrite.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                repository.updateColumns(ABSENT_ID, Map.of("name", "warmup"), null);
+                repository.updateColumns(ABSENT_ID, Map.of("name", "warmup"), 0L);
+                repository.deleteRowById(ABSENT_ID);
+                repository.deleteRowByIdAndVersion(ABSENT_ID, 0L);
+            });
+        }
+        log.debug("[DB-STARTUP] Warmed write statements ({} iterations) in {} ms", iterations, millisSince(start));
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
 }
@@ -0,0 +1,48 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup warm-up of the connection pool and the hot CRUD statements. Runs before the application reports
+ * readiness, so the first requests after a deploy do not pay for connection setup and statement preparation.
+ */
+@ConfigurationProperties(prefix = "app.database.warmup")
+public class DatabaseWarmupProperties {
+
+    /** Run the warm-up at startup. */
+    private boolean enabled = true;
+    /**
+     * Open pooled connections up to the pool's minimum-idle before accepting traffic and warm the statements on
+     * each of them (Hikari only); otherwise the statements are warmed on a single connection.
+     */
+    private boolean fillPool = true;
+    /**
+     * How often each hot statement is executed (per connection when filling the pool); warms Hibernate's query
+     * plan cache, the driver and the JIT.
+     */
+    private int iterations = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isFillPool() {
+        return fillPool;
+    }
+
+    public void setFillPool(boolean fillPool) {
+        this.fillPool = fillPool;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+}
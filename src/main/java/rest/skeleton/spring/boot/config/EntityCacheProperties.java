@@ -0,0 +1,122 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.cache")
+public class EntityCacheProperties {
+
+    /** Enable the in-process read-through cache for single-entity reads. */
+    private boolean enabled = true;
+    /** Maximum number of cached entities; least valuable entries are evicted first (W-TinyLFU). */
+    private long maximumSize = 10000;
+    /** Time after which a cached entry is dropped even if it was never invalidated. */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    /** Hibernate query cache ({@code app.cache.hibernate.*}). */
+    private final Hibernate hibernate = new Hibernate();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Hibernate getHibernate() {
+        return hibernate;
+    }
+
+    public static class Hibernate {
+        /**
+         * Enable the query cache (JCache regions backed by Caffeine). Entities are not cached: every read path
+         * uses projections, so an entity region would only be evicted by writes and never read.
+         */
+        private boolean enabled = true;
+        /** Collect Hibernate statistics, published by Actuator as {@code hibernate.*} metrics per cache region. */
+        private boolean statistics = true;
+        /**
+         * List sort orders whose pages go through the query cache, in the {@code sort} request parameter format
+         * ({@code property[,asc|desc]}); {@code unsorted} stands for requests without a sort. Empty by default.
+         */
+        private List<String> listQuerySorts = new ArrayList<>();
+        /** Size and TTL per cache region, keyed by region name. */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isStatistics() {
+            return statistics;
+        }
+
+        public void setStatistics(boolean statistics) {
+            this.statistics = statistics;
+        }
+
+        public List<String> getListQuerySorts() {
+            return listQuerySorts;
+        }
+
+        public void setListQuerySorts(List<String> listQuerySorts) {
+            this.listQuerySorts = listQuerySorts;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+    }
+
+    public static class Region {
+        /** Maximum number of entries in the region. */
+        private long maximumSize = 10000;
+        /** Time after which an entry is dropped even if it was never invalidated. */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers settings for {@code Idempotency-Key} handling and its stored responses.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+}
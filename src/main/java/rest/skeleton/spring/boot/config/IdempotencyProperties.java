@@ -0,0 +1,70 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /** Honour {@code Idempotency-Key} on {@code POST /api/v1/sample-entities}; when off the header is ignored. */
+    private boolean enabled = true;
+    /** How long a stored response is replayed for its key; afterwards the key may be used again. */
+    private Duration ttl = Duration.ofHours(24);
+    /** Stored responses kept in memory in front of the idempotency_record table. */
+    private long cacheMaximumSize = 10000;
+    /** How long a duplicate waits for the first request with the same key before getting 409. */
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+    /** How often expired rows are deleted from idempotency_record. */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+    /** Rows deleted per purge transaction. */
+    private int purgeBatchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    public void setCacheMaximumSize(long cacheMaximumSize) {
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    public Duration getInFlightTimeout() {
+        return inFlightTimeout;
+    }
+
+    public void setInFlightTimeout(Duration inFlightTimeout) {
+        this.inFlightTimeout = inFlightTimeout;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+}
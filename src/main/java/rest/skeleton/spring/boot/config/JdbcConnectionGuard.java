@@ -0,0 +1,81 @@
+package rest.skeleton.spring.boot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of one physical connection pool. Each pool gets its own
+ * guard, sized to that pool unless {@code app.virtual-threads.jdbc-guard.max-concurrent} is set, and its own
+ * {@code jdbc.connections.guard.*} gauges tagged with the pool name. With read/write routing the primary and every
+ * replica are guarded separately, so a permit is only taken when a physical connection is checked out.
+ */
+public class JdbcConnectionGuard {
+    private static final Logger log = LoggerFactory.getLogger(JdbcConnectionGuard.class);
+
+    /**
+     * Hikari's default {@code maximumPoolSize}. Used when the pool behind the data source is not reachable, and when
+     * the size is unset: Hikari reports -1 until the pool starts, then applies this default.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final VirtualThreadsProperties.JdbcGuard settings;
+    private final MeterRegistry meterRegistry;
+
+    /** @param meterRegistry registry for the gauges, or {@code null} to publish none */
+    public JdbcConnectionGuard(VirtualThreadsProperties.JdbcGuard settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param name pool name for the gauges and the log, used when the pool does not have one of its own
+     */
+    public ConnectionLimitingDataSource guard(String name, DataSource pool) {
+        String poolName = poolName(pool, name);
+        int permits = settings.getMaxConcurrent() > 0 ? settings.getMaxConcurrent() : poolSize(pool);
+        ConnectionLimitingDataSource guarded = new ConnectionLimitingDataSource(pool, permits, settings.getAcquireTimeout());
+        if (meterRegistry != null) {
+            Gauge.builder("jdbc.connections.guard.waiting", guarded, ConnectionLimitingDataSource::getWaiting)
+                    .tag("pool", poolName)
+                    .description("Requests waiting for a JDBC connection permit")
+                    .register(meterRegistry);
+            Gauge.builder("jdbc.connections.guard.available", guarded, ConnectionLimitingDataSource::getAvailable)
+                    .tag("pool", poolName)
+                    .description("Free JDBC connection permits")
+                    .register(meterRegistry);
+        }
+        log.info("[VIRTUAL-THREADS] JDBC connections of pool '{}' limited to {} concurrent checkouts", poolName, permits);
+        return guarded;
+    }
+
+    private static String poolName(DataSource pool, String fallback) {
+        try {
+            if (pool.isWrapperFor(HikariDataSource.class)) {
+                String configured = pool.unwrap(HikariDataSource.class).getPoolName();
+                return configured != null ? configured : fallback;
+            }
+        } catch (SQLException e) {
+            // fall through to the fallback
+        }
+        return fallback;
+    }
+
+    private static int poolSize(DataSource pool) {
+        try {
+            if (pool.isWrapperFor(HikariDataSource.class)) {
+                int configured = pool.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return configured > 0 ? configured : DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            // fall through to the default
+        }
+        log.info("[VIRTUAL-THREADS] Pool size of the data source unknown; set app.virtual-threads.jdbc-guard.max-concurrent");
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,58 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable authentication built from a verified JWT. Safe to share between requests (and threads) because
+ * nothing about it can change after construction; the raw token is deliberately not retained.
+ *
+ * @param subject     token subject, used as principal and name
+ * @param authorities granted authorities from the {@code roles} claim (unmodifiable)
+ * @param expiresAt   token expiry ({@code exp} claim), or {@code null} when the token has none
+ */
+public record JwtAuthentication(String subject, List<GrantedAuthority> authorities, Instant expiresAt)
+        implements Authentication {
+
+    public JwtAuthentication {
+        authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return subject;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        throw new IllegalArgumentException("JwtAuthentication is immutable");
+    }
+}
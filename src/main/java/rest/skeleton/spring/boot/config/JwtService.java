@@ -1,5 +1,6 @@
 package rest.skeleton.spring.boot.config;
 
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -18,11 +19,17 @@ import java.util.Map;
 public class JwtService {
     private final SecurityProperties properties;
     private final SecretKey secretKey;
+    /** Built once: parsers are immutable and thread-safe, and building one is not free. */
+    private final JwtParser parser;
 
     public JwtService(SecurityProperties properties) {
         this.properties = properties;
         byte[] keyBytes = Decoders.BASE64.decode(properties.getJwt().getSecret());
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .requireIssuer(properties.getJwt().getIssuer())
+                .build();
     }
 
     public String issueToken(String subject, List<String> roles) {
@@ -39,11 +46,6 @@ public class JwtService {
     }
 
     public Claims validateAndParse(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .requireIssuer(properties.getJwt().getIssuer())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
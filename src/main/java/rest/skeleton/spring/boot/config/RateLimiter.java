@@ -0,0 +1,83 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets without locks on the request path.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next request (the GCRA
+ * formulation of a token bucket): a request is admitted when fewer than {@code capacity} emission intervals are
+ * outstanding, and is accounted for with one CAS. Buckets live in a Caffeine cache that evicts keys idle for
+ * longer than {@code idleTimeout} (an idle bucket is full again anyway) and caps the number of keys.
+ */
+public class RateLimiter {
+    /** Shared result for admitted requests, so the common path does not allocate. */
+    private static final Decision ALLOWED = new Decision(true, 0);
+
+    private final Cache<String, Bucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(Duration idleTimeout, long maximumKeys) {
+        this(idleTimeout, maximumKeys, System::nanoTime);
+    }
+
+    RateLimiter(Duration idleTimeout, long maximumKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maximumKeys)
+                .build();
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}, creating it with {@code limit} on first use.
+     */
+    public Decision tryAcquire(String key, SecurityProperties.Limit limit) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit, nanoClock.getAsLong()));
+        return bucket.tryAcquire(nanoClock.getAsLong());
+    }
+
+    /** Native cache, exposed for metrics binding. */
+    public Cache<String, Bucket> nativeCache() {
+        return buckets;
+    }
+
+    /**
+     * @param retryAfterNanos for rejected requests, how long until a token is available again
+     */
+    public record Decision(boolean allowed, long retryAfterNanos) {
+    }
+
+    static final class Bucket {
+        /** Time between two tokens. */
+        private final long intervalNanos;
+        /** How far the theoretical arrival time may run ahead of now: (capacity - 1) intervals. */
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(SecurityProperties.Limit limit, long now) {
+            this.intervalNanos = Math.max(1, 1_000_000_000L / Math.max(1, limit.getRefillPerSecond()));
+            this.toleranceNanos = intervalNanos * (Math.max(1, limit.getCapacity()) - 1);
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        Decision tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long start = Math.max(tat, now);
+                long ahead = start - now;
+                if (ahead > toleranceNanos) {
+                    return new Decision(false, ahead - toleranceNanos);
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                    return ALLOWED;
+                }
+            }
+        }
+    }
+}
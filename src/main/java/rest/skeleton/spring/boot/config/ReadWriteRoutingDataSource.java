@@ -0,0 +1,215 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections otherwise.
+ *
+ * Must be wrapped in a {@link LazyConnectionDataSourceProxy}: transaction managers obtain their connection
+ * before the read-only flag is published to {@link TransactionSynchronizationManager}, and the lazy proxy defers
+ * the physical fetch (and so this routing decision) to the first statement.
+ *
+ * Replicas are used round-robin while healthy. A replica that fails to hand out a connection, or fails a
+ * periodic probe, is skipped until a probe succeeds; with no healthy replica reads fall back to the primary.
+ * With read-your-writes enabled, a caller's read-only transactions stay on the primary for a short window after
+ * it ran a read-write transaction.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Supplier<String> callerKey;
+    /** Callers that recently wrote; null when read-your-writes is disabled. */
+    private final Cache<String, Boolean> recentWriters;
+    private final int healthCheckTimeoutSeconds;
+    private ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckTimeout,
+                                      Supplier<String> callerKey, DataSourceRoutingProperties.ReadYourWrites readYourWrites) {
+        this(primary, replicas, healthCheckTimeout, callerKey, readYourWrites, Ticker.systemTicker());
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckTimeout,
+                               Supplier<String> callerKey, DataSourceRoutingProperties.ReadYourWrites readYourWrites,
+                               Ticker ticker) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.callerKey = callerKey;
+        this.recentWriters = readYourWrites.isEnabled()
+                ? Caffeine.newBuilder()
+                        .ticker(ticker)
+                        .expireAfterWrite(readYourWrites.getWindow())
+                        .maximumSize(readYourWrites.getMaximumCallers())
+                        .build()
+                : null;
+    }
+
+    /** Probes all replicas every {@code interval} on a daemon thread until the data source is destroyed. */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecker != null || replicas.isEmpty()) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("connection is not valid");
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    public int healthyReplicaCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return primary.getConnection();
+        }
+        if (recentlyWrote()) {
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthyReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Explicit credentials are only used for administrative access; keep it on the primary
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        synchronized (this) {
+            if (healthChecker != null) {
+                healthChecker.shutdownNow();
+            }
+        }
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+        close(primary);
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void rememberWrite() {
+        if (recentWriters == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String caller = callerKey.get();
+        if (caller != null) {
+            recentWriters.put(caller, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether the current caller wrote within the read-your-writes window, so that its read-only transactions are
+     * routed to the primary.
+     */
+    public boolean recentlyWrote() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String caller = callerKey.get();
+        return caller != null && recentWriters.getIfPresent(caller) != null;
+    }
+
+    private static void close(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("[DB-ROUTING] {} is healthy again; routing reads to it", name);
+            }
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("[DB-ROUTING] {} is unavailable, reads fall back to other replicas or the primary: {}", name, reason);
+            }
+        }
+    }
+}
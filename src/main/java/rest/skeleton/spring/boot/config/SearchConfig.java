@@ -0,0 +1,12 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers settings for {@code GET /api/v1/sample-entities/search} (query limits, timeouts, index tuning).
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+}
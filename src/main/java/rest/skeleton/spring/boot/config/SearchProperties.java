@@ -0,0 +1,60 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /** Shorter queries are rejected: they match nearly everything and cannot use the trigram indexes. */
+    private int minQueryLength = 2;
+    /** Longer queries are rejected; bounds the number of trigrams (index lookups) per search. */
+    private int maxQueryLength = 100;
+    /** Server-side limit for one search statement on PostgreSQL; slower searches fail with 503. */
+    private Duration timeout = Duration.ofSeconds(2);
+    /** Minimum share of the query's trigrams a field must contain to match (in-process index). */
+    private double minSimilarity = 0.3;
+    /** Upper bound on posting-list entries read per search by the in-process index. */
+    private int maxPostingsScanned = 1_000_000;
+
+    public int getMinQueryLength() {
+        return minQueryLength;
+    }
+
+    public void setMinQueryLength(int minQueryLength) {
+        this.minQueryLength = minQueryLength;
+    }
+
+    public int getMaxQueryLength() {
+        return maxQueryLength;
+    }
+
+    public void setMaxQueryLength(int maxQueryLength) {
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    public void setMinSimilarity(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    public int getMaxPostingsScanned() {
+        return maxPostingsScanned;
+    }
+
+    public void setMaxPostingsScanned(int maxPostingsScanned) {
+        this.maxPostingsScanned = maxPostingsScanned;
+    }
+}
@@ -1,19 +1,46 @@
 package rest.skeleton.spring.boot.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
+import rest.skeleton.spring.boot.controller.error.ApiError;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,7 +48,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -40,26 +71,37 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public VerifiedTokenCache verifiedTokenCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService(), props.getJwt().getCache().getMaximumSize());
+        // Publishes cache.gets{cache=jwtVerifiedTokens,result=hit|miss}, cache.evictions, cache.size
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "jwtVerifiedTokens"));
+        return cache;
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, VerifiedTokenCache tokenCache,
+                                                   ObjectProvider<UserDetailsService> userDetailsService,
+                                                   ObjectProvider<PasswordEncoder> passwordEncoder,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   ObjectMapper objectMapper,
+                                                   MessageSource messageSource) throws Exception {
         // Common security setup
         http
             .csrf(csrf -> csrf.disable())
             .headers(headers -> headers.frameOptions(frame -> frame.disable())) // allow H2 console frames
-            .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+            // Stateless without SessionManagementFilter: that filter reads the SecurityContext on every request,
+            // which would resolve the deferred Bearer authentication even on permitAll routes. These two settings
+            // are what SessionCreationPolicy.STATELESS would install.
+            .sessionManagement(sm -> sm.disable())
+            .securityContext(sc -> sc.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+            .requestCache(cache -> cache.requestCache(new NullRequestCache()));
 
+        RequestMatcher publicRoutes = props.isEnabled() ? publicRoutes() : AnyRequestMatcher.INSTANCE;
         if (props.isEnabled()) {
             // Authorization when security is enabled
             http.authorizeHttpRequests(auth -> auth
-                .requestMatchers(
-                    "/v3/api-docs/**",
-                    "/swagger-ui/**",
-                    "/swagger-ui.html",
-                    "/actuator/health",
-                    "/h2-console/**",
-                    "/api/v1/auth/token"
-                ).permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/**").permitAll()
-                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(publicRoutes).permitAll()
                 .anyRequest().authenticated()
             );
 
@@ -67,7 +109,10 @@ public class SecurityConfig {
                 if (props.getJwt().isAcceptAnyToken()) {
                     http.addFilterBefore(new StubJwtFilter(props), UsernamePasswordAuthenticationFilter.class);
                 } else {
-                    http.addFilterBefore(new JwtAuthenticationFilter(jwtService()), UsernamePasswordAuthenticationFilter.class);
+                    Function<String, Authentication> authenticator = props.getJwt().getCache().isEnabled()
+                            ? tokenCache::authenticate
+                            : token -> VerifiedTokenCache.toAuthentication(jwtService().validateAndParse(token));
+                    http.addFilterBefore(new JwtAuthenticationFilter(authenticator), UsernamePasswordAuthenticationFilter.class);
                 }
             }
         } else {
@@ -77,14 +122,140 @@ public class SecurityConfig {
 
         // Basic exception handling defaults are fine (401 for unauthorized)
         http.httpBasic(Customizer.withDefaults());
+        UserDetailsService users = userDetailsService.getIfUnique();
+        if (props.getBasic().getCache().isEnabled() && users != null) {
+            http.authenticationManager(new ProviderManager(
+                    basicCredentialCache(users, passwordEncoder.getIfAvailable(), meterRegistry)));
+        }
+
+        if (props.getRateLimit().isEnabled()) {
+            // After Bearer and Basic authentication, so the subject (not just the IP) is known
+            SecurityProperties.RateLimit settings = props.getRateLimit();
+            RateLimiter limiter = new RateLimiter(settings.getIdleTimeout(), settings.getMaximumKeys());
+            MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+            // Verified tokens the limiter may consult on public routes (none when tokens are not verified or cached)
+            VerifiedTokenCache verifiedTokens = props.getJwt().isEnabled() && !props.getJwt().isAcceptAnyToken()
+                    && props.getJwt().getCache().isEnabled() ? tokenCache : null;
+            http.addFilterAfter(new RateLimitFilter(limiter, settings, registry, objectMapper, messageSource,
+                            publicRoutes, verifiedTokens),
+                    BasicAuthenticationFilter.class);
+        }
         return http.build();
     }
 
+    /** Routes open to anonymous callers; shared by authorization and the rate limiter. */
+    private static RequestMatcher publicRoutes() {
+        return new OrRequestMatcher(
+                antMatcher("/v3/api-docs/**"),
+                antMatcher("/swagger-ui/**"),
+                antMatcher("/swagger-ui.html"),
+                // Includes the liveness and readiness probes under /actuator/health/
+                antMatcher("/actuator/health/**"),
+                antMatcher("/h2-console/**"),
+                antMatcher("/api/v1/auth/token"),
+                antMatcher(HttpMethod.GET, "/api/v1/**"),
+                // A read that takes its id list in the body; public like the GET variant
+                antMatcher(HttpMethod.POST, "/api/v1/sample-entities:batchGet"),
+                antMatcher(HttpMethod.OPTIONS, "/**"));
+    }
+
+    /**
+     * Password check for HTTP Basic behind a short-lived verified-credential cache. Replaces the chain's
+     * authentication manager only; the user store and password encoder are whatever the application defines
+     * (delegating encoder when none is declared).
+     */
+    private CachingAuthenticationProvider basicCredentialCache(UserDetailsService users, PasswordEncoder encoder,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(users);
+        dao.setPasswordEncoder(encoder != null ? encoder : PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        SecurityProperties.CredentialCache settings = props.getBasic().getCache();
+        CachingAuthenticationProvider provider =
+                new CachingAuthenticationProvider(dao, settings.getMaximumSize(), settings.getTtl());
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, provider.nativeCache(), "basicVerifiedCredentials"));
+        return provider;
+    }
+
+    /**
+     * Base for Bearer-token filters. Instead of authenticating eagerly, the filter installs a deferred
+     * {@link SecurityContext}: the token is only verified when something asks for the authentication (normally
+     * the authorization decision of a protected route). Requests to permitAll routes therefore never pay for
+     * token parsing, while protected routes see exactly the same authentication as before.
+     */
+    abstract static class DeferredBearerTokenFilter extends OncePerRequestFilter {
+        private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+        /**
+         * @return the authentication for {@code token}, or {@code null} to leave the request unauthenticated
+         * @throws RuntimeException when the token is invalid (treated like {@code null})
+         */
+        protected abstract Authentication authenticate(String token);
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String auth = request.getHeader("Authorization");
+            if (auth != null && auth.startsWith("Bearer ")) {
+                String token = auth.substring(7);
+                Supplier<SecurityContext> previous = securityContextHolderStrategy.getDeferredContext();
+                securityContextHolderStrategy.setDeferredContext(new LazyContext(() -> {
+                    SecurityContext context = previous.get();
+                    Authentication authentication;
+                    try {
+                        authentication = authenticate(token);
+                    } catch (Exception e) {
+                        // Invalid token: leave context unauthenticated; downstream will return 401 if required
+                        return context;
+                    }
+                    if (authentication == null) {
+                        return context;
+                    }
+                    SecurityContext authenticated = securityContextHolderStrategy.createEmptyContext();
+                    authenticated.setAuthentication(authentication);
+                    return authenticated;
+                }));
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+            this.securityContextHolderStrategy = securityContextHolderStrategy;
+        }
+    }
+
+    /**
+     * Evaluates the wrapped supplier at most once per request. Guarded by a lock rather than {@code synchronized}:
+     * authentication may block (e.g. a user lookup), which would pin a virtual request thread to its carrier.
+     */
+    private static final class LazyContext implements Supplier<SecurityContext> {
+        private final Supplier<SecurityContext> delegate;
+        private final ReentrantLock lock = new ReentrantLock();
+        private SecurityContext context;
+
+        LazyContext(Supplier<SecurityContext> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SecurityContext get() {
+            lock.lock();
+            try {
+                if (context == null) {
+                    context = delegate.get();
+                }
+                return context;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     /**
      * Very small stub filter to simulate JWT auth when enabled. If acceptAnyToken is true and a Bearer token
      * is present, it authenticates the request with a generic user principal.
      */
-    static class StubJwtFilter extends OncePerRequestFilter {
+    static class StubJwtFilter extends DeferredBearerTokenFilter {
         private final SecurityProperties properties;
 
         StubJwtFilter(SecurityProperties properties) {
@@ -92,54 +263,126 @@ public class SecurityConfig {
         }
 
         @Override
-        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-                throws ServletException, IOException {
-            if (properties.getJwt().isEnabled() && properties.getJwt().isAcceptAnyToken()) {
-                String auth = request.getHeader("Authorization");
-                if (auth != null && auth.startsWith("Bearer ")) {
-                    String token = auth.substring(7);
-                    if (!token.isBlank()) {
-                        var authToken = new UsernamePasswordAuthenticationToken(
-                                "api-user", token, List.of(new SimpleGrantedAuthority("ROLE_USER")));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                }
+        protected Authentication authenticate(String token) {
+            if (!properties.getJwt().isEnabled() || !properties.getJwt().isAcceptAnyToken() || token.isBlank()) {
+                return null;
             }
-            filterChain.doFilter(request, response);
+            return new UsernamePasswordAuthenticationToken(
+                    "api-user", token, List.of(new SimpleGrantedAuthority("ROLE_USER")));
         }
     }
 
     /**
      * JWT authentication filter that validates HS256 tokens and sets SecurityContext when valid.
+     * Verification is delegated to {@code authenticator} (normally the {@link VerifiedTokenCache}).
      */
-    static class JwtAuthenticationFilter extends OncePerRequestFilter {
-        private final JwtService jwtService;
+    static class JwtAuthenticationFilter extends DeferredBearerTokenFilter {
+        private final Function<String, Authentication> authenticator;
 
-        JwtAuthenticationFilter(JwtService jwtService) {
-            this.jwtService = jwtService;
+        JwtAuthenticationFilter(Function<String, Authentication> authenticator) {
+            this.authenticator = authenticator;
+        }
+
+        @Override
+        protected Authentication authenticate(String token) {
+            return authenticator.apply(token);
+        }
+    }
+
+    /**
+     * Token-bucket rate limiting per authenticated subject, with per-role limits, and per client IP for anonymous
+     * requests. Public routes never resolve the deferred authentication, so a Bearer token sent to them stays
+     * unverified (see {@link DeferredBearerTokenFilter}): a token already in the {@link VerifiedTokenCache} is
+     * limited as its subject, any other token gets its own bucket (keyed by its digest) at the anonymous limit.
+     * Protected routes verify the token for authorization anyway. Rejections are answered with 429,
+     * {@code Retry-After} and an {@link ApiError} body. Client IPs come from {@code getRemoteAddr()}; behind a
+     * proxy, enable {@code server.forward-headers-strategy}.
+     */
+    static class RateLimitFilter extends OncePerRequestFilter {
+        private final RateLimiter limiter;
+        private final SecurityProperties.RateLimit settings;
+        private final ObjectMapper objectMapper;
+        private final MessageSource messageSource;
+        private final Counter allowed;
+        private final Counter rejected;
+        private final RequestMatcher publicRoutes;
+        private final VerifiedTokenCache verifiedTokens;
+        private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+        RateLimitFilter(RateLimiter limiter, SecurityProperties.RateLimit settings, MeterRegistry registry,
+                        ObjectMapper objectMapper, MessageSource messageSource, RequestMatcher publicRoutes,
+                        VerifiedTokenCache verifiedTokens) {
+            this.limiter = limiter;
+            this.publicRoutes = publicRoutes;
+            this.verifiedTokens = verifiedTokens;
+            this.settings = settings;
+            this.objectMapper = objectMapper;
+            this.messageSource = messageSource;
+            this.allowed = Counter.builder("ratelimit.requests").tag("outcome", "allowed")
+                    .description("Requests admitted by the rate limiter").register(registry);
+            this.rejected = Counter.builder("ratelimit.requests").tag("outcome", "rejected")
+                    .description("Requests rejected with 429 by the rate limiter").register(registry);
+            Gauge.builder("ratelimit.keys", limiter.nativeCache(), cache -> cache.estimatedSize())
+                    .description("Subjects/IPs with a live token bucket").register(registry);
         }
 
         @Override
         protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
                 throws ServletException, IOException {
-            String auth = request.getHeader("Authorization");
-            if (auth != null && auth.startsWith("Bearer ")) {
-                String token = auth.substring(7);
-                try {
-                    var claims = jwtService.validateAndParse(token);
-                    String subject = claims.getSubject();
-                    var roles = (List<?>) claims.getOrDefault("roles", List.of());
-                    var authorities = roles.stream()
-                            .map(String::valueOf)
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList());
-                    var authentication = new UsernamePasswordAuthenticationToken(subject, token, authorities);
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } catch (Exception e) {
-                    // Invalid token: leave context unauthenticated; downstream will return 401 if required
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            boolean bearer = authorization != null && authorization.startsWith("Bearer ");
+            Authentication authentication;
+            if (!publicRoutes.matches(request)) {
+                authentication = securityContextHolderStrategy.getContext().getAuthentication();
+            } else if (bearer) {
+                authentication = verifiedTokens != null ? verifiedTokens.cached(authorization.substring(7)) : null;
+            } else if (authorization != null) {
+                // No deferred token to resolve: Basic credentials were already checked by BasicAuthenticationFilter
+                authentication = securityContextHolderStrategy.getContext().getAuthentication();
+            } else {
+                authentication = null;
+            }
+            String key;
+            SecurityProperties.Limit limit;
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                key = "sub:" + authentication.getName();
+                limit = limitFor(authentication);
+            } else if (bearer) {
+                key = "cred:" + VerifiedTokenCache.digest(authorization);
+                limit = settings.getAnonymous();
+            } else {
+                key = "ip:" + request.getRemoteAddr();
+                limit = settings.getAnonymous();
+            }
+
+            RateLimiter.Decision decision = limiter.tryAcquire(key, limit);
+            if (decision.allowed()) {
+                allowed.increment();
+                filterChain.doFilter(request, response);
+                return;
+            }
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, (decision.retryAfterNanos() + 999_999_999L) / 1_000_000_000L);
+            ApiError error = new ApiError("rate_limited",
+                    messageSource.getMessage("error.rate_limited", null, "Too many requests", request.getLocale()));
+            error.getDetails().put("retryAfterSeconds", retryAfterSeconds);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), error);
+        }
+
+        /** The most generous role-specific limit held by the caller, else the default authenticated limit. */
+        private SecurityProperties.Limit limitFor(Authentication authentication) {
+            SecurityProperties.Limit best = null;
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                SecurityProperties.Limit candidate = settings.getRoles().get(authority.getAuthority());
+                if (candidate != null && (best == null || candidate.getRefillPerSecond() > best.getRefillPerSecond())) {
+                    best = candidate;
                 }
             }
-            filterChain.doFilter(request, response);
+            return best != null ? best : settings.getAuthenticated();
         }
     }
 }
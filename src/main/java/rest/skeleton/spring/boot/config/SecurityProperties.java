@@ -2,6 +2,10 @@ package rest.skeleton.spring.boot.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "app.security")
 public class SecurityProperties {
 
@@ -10,6 +14,10 @@ public class SecurityProperties {
 
     private Jwt jwt = new Jwt();
 
+    private Basic basic = new Basic();
+
+    private RateLimit rateLimit = new RateLimit();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -26,6 +34,22 @@ public class SecurityProperties {
         this.jwt = jwt;
     }
 
+    public Basic getBasic() {
+        return basic;
+    }
+
+    public void setBasic(Basic basic) {
+        this.basic = basic;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
     public static class Jwt {
         /** Toggle JWT filter stub. */
         private boolean enabled = false;
@@ -37,6 +61,8 @@ public class SecurityProperties {
         private String issuer = "rest-skeleton";
         /** Expiration in seconds for issued tokens. */
         private long expirationSeconds = 3600;
+        /** Cache of verified tokens (entries expire with the token). */
+        private TokenCache cache = new TokenCache();
 
         public boolean isEnabled() {
             return enabled;
@@ -77,5 +103,185 @@ public class SecurityProperties {
         public void setExpirationSeconds(long expirationSeconds) {
             this.expirationSeconds = expirationSeconds;
         }
+
+        public TokenCache getCache() {
+            return cache;
+        }
+
+        public void setCache(TokenCache cache) {
+            this.cache = cache;
+        }
+    }
+
+    public static class TokenCache {
+        /** Cache verified tokens so repeat requests skip parsing and signature checks. */
+        private boolean enabled = true;
+        /** Maximum number of distinct tokens kept. */
+        private long maximumSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class Basic {
+        /** Allow exchanging HTTP Basic credentials for a JWT at POST /api/v1/auth/exchange (requires JWT enabled). */
+        private boolean tokenExchangeEnabled = true;
+        /** Cache of successfully verified Basic credentials. */
+        private CredentialCache cache = new CredentialCache();
+
+        public boolean isTokenExchangeEnabled() {
+            return tokenExchangeEnabled;
+        }
+
+        public void setTokenExchangeEnabled(boolean tokenExchangeEnabled) {
+            this.tokenExchangeEnabled = tokenExchangeEnabled;
+        }
+
+        public CredentialCache getCache() {
+            return cache;
+        }
+
+        public void setCache(CredentialCache cache) {
+            this.cache = cache;
+        }
+    }
+
+    public static class CredentialCache {
+        /** Skip the password hash check for credentials verified within the TTL. */
+        private boolean enabled = true;
+        /** Maximum number of distinct credentials kept. */
+        private long maximumSize = 1_000;
+        /** How long a verified credential is trusted; bounds how late password/account changes take effect. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class RateLimit {
+        /** Enable per-subject (or per-IP for anonymous callers) request rate limiting. */
+        private boolean enabled = false;
+        /** Limit for requests without an authenticated subject, keyed by client IP. */
+        private Limit anonymous = new Limit(50, 20);
+        /** Limit for authenticated subjects without a role-specific limit. */
+        private Limit authenticated = new Limit(200, 100);
+        /** Role-specific limits keyed by authority (e.g. ROLE_ADMIN); the most generous matching role wins. */
+        private Map<String, Limit> roles = new LinkedHashMap<>();
+        /** Buckets idle for this long are dropped (they would be full again anyway). */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        /** Upper bound on tracked keys. */
+        private long maximumKeys = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Limit getAnonymous() {
+            return anonymous;
+        }
+
+        public void setAnonymous(Limit anonymous) {
+            this.anonymous = anonymous;
+        }
+
+        public Limit getAuthenticated() {
+            return authenticated;
+        }
+
+        public void setAuthenticated(Limit authenticated) {
+            this.authenticated = authenticated;
+        }
+
+        public Map<String, Limit> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(Map<String, Limit> roles) {
+            this.roles = roles;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public long getMaximumKeys() {
+            return maximumKeys;
+        }
+
+        public void setMaximumKeys(long maximumKeys) {
+            this.maximumKeys = maximumKeys;
+        }
+    }
+
+    public static class Limit {
+        /** Burst size: requests admitted back-to-back from a full bucket. */
+        private long capacity;
+        /** Sustained rate: tokens added per second. */
+        private long refillPerSecond;
+
+        public Limit() {}
+
+        public Limit(long capacity, long refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(long refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
     }
 }
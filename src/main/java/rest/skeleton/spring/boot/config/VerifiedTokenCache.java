@@ -0,0 +1,120 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Bounded cache of verified JWTs so a token reused across many requests is parsed and signature-checked once.
+ *
+ * Entries are keyed by the SHA-256 digest of the token (raw bearer tokens are never kept in memory), hold the
+ * prebuilt immutable {@link JwtAuthentication}, and expire exactly at the token's {@code exp}. Invalid tokens are
+ * never cached, and tokens without an {@code exp} are verified on every use.
+ */
+public class VerifiedTokenCache {
+    private final JwtService jwtService;
+    private final Clock clock;
+    private final Cache<String, JwtAuthentication> cache;
+
+    public VerifiedTokenCache(JwtService jwtService, long maximumSize) {
+        this(jwtService, maximumSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtService jwtService, long maximumSize, Clock clock) {
+        this.jwtService = jwtService;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the authentication for a valid token
+     * @throws JwtException when the token is malformed, expired, wrongly signed or from another issuer
+     */
+    public JwtAuthentication authenticate(String token) {
+        String key = digest(token);
+        JwtAuthentication cached = unexpired(key);
+        if (cached != null) {
+            return cached;
+        }
+        JwtAuthentication verified = toAuthentication(jwtService.validateAndParse(token));
+        if (verified.expiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * @return the authentication of a token already verified and still valid, or {@code null}; never verifies
+     */
+    public JwtAuthentication cached(String token) {
+        return unexpired(digest(token));
+    }
+
+    private JwtAuthentication unexpired(String key) {
+        JwtAuthentication cached = cache.getIfPresent(key);
+        return cached != null && clock.instant().isBefore(cached.expiresAt()) ? cached : null;
+    }
+
+    /** Native cache, exposed for metrics binding. */
+    public Cache<String, JwtAuthentication> nativeCache() {
+        return cache;
+    }
+
+    static JwtAuthentication toAuthentication(Claims claims) {
+        var roles = (List<?>) claims.getOrDefault("roles", List.of());
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(String::valueOf)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+        return new JwtAuthentication(claims.getSubject(), authorities, expiresAt);
+    }
+
+    /** Base64 SHA-256 of {@code token}; also used to key read-your-writes callers and rate limits by credential. */
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Each entry lives until its token's {@code exp}; reads and updates do not extend it. */
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, JwtAuthentication> {
+        @Override
+        public long expireAfterCreate(String key, JwtAuthentication value, long currentTime) {
+            Duration remaining = Duration.between(clock.instant(), value.expiresAt());
+            if (remaining.isNegative()) return 0;
+            // toNanos() overflows past ~292 years; treat such tokens as "until evicted by size"
+            return remaining.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L ? Long.MAX_VALUE : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package rest.skeleton.spring.boot.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache of {@link SampleEntityView}s whose writes are ordered by entity version, so a read-through put
+ * that loses a race with a write cannot bring back an older row:
+ * <ul>
+ *     <li>{@link #put} keeps whichever of the cached and the new view has the higher version. Writers put the
+ *     view they committed, so a miss that loaded the row before the commit (or from a lagging replica after it)
+ *     no longer overwrites it.</li>
+ *     <li>{@link #evict} leaves a tombstone instead of removing the entry: ids are never reused, so a deleted id
+ *     stays a miss until the tombstone expires with the other entries, whatever a concurrent load puts.</li>
+ * </ul>
+ */
+public class VersionedEntityCache extends CaffeineCache {
+
+    /** Marks a deleted id; reads treat it as a miss and it outranks every view. */
+    private static final Object DELETED = new Object();
+
+    public VersionedEntityCache(String name, Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        return value == DELETED ? null : value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        getNativeCache().asMap().merge(key, toStoreValue(value), VersionedEntityCache::newer);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = getNativeCache().asMap().putIfAbsent(key, toStoreValue(value));
+        return existing == null || existing == DELETED ? null : toValueWrapper(existing);
+    }
+
+    @Override
+    public void evict(Object key) {
+        getNativeCache().put(key, DELETED);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Object previous = getNativeCache().asMap().put(key, DELETED);
+        return previous != null && previous != DELETED;
+    }
+
+    private static Object newer(Object cached, Object offered) {
+        if (cached == DELETED) {
+            return cached;
+        }
+        if (cached instanceof SampleEntityView current && offered instanceof SampleEntityView candidate
+                && current.version() != null && candidate.version() != null
+                && current.version() > candidate.version()) {
+            return cached;
+        }
+        return offered;
+    }
+}
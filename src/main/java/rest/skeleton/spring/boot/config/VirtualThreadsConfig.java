@@ -0,0 +1,59 @@
+package rest.skeleton.spring.boot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode. {@code spring.threads.virtual.enabled=true} makes Spring Boot run Tomcat requests and the
+ * application task executor (async requests, {@code @Async}) on virtual threads; this configuration adds what that
+ * mode needs to run safely: a connection guard per pool, sized to that pool, and pinning diagnostics.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+public class VirtualThreadsConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.virtual-threads.jdbc-guard", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public JdbcConnectionGuard jdbcConnectionGuard(VirtualThreadsProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JdbcConnectionGuard(properties.getJdbcGuard(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.virtual-threads.jdbc-guard", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor jdbcConnectionGuardPostProcessor(ObjectProvider<JdbcConnectionGuard> connectionGuard) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                // With routing this is the lazy proxy, which has no physical connection behind a handle until the
+                // first statement; DataSourceRoutingConfig guards the primary and replica pools one by one instead
+                if (bean instanceof LazyConnectionDataSourceProxy lazy
+                        && lazy.getTargetDataSource() instanceof ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                return connectionGuard.getObject().guard("primary", dataSource);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.virtual-threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadsProperties properties, MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(properties.getPinning().getThreshold(), meterRegistry);
+    }
+}
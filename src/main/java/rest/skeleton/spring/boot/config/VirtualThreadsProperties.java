@@ -0,0 +1,81 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Safeguards for the virtual-thread mode ({@code spring.threads.virtual.enabled=true}); ignored otherwise.
+ */
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class VirtualThreadsProperties {
+
+    /** Bound on concurrent JDBC connection use ({@code app.virtual-threads.jdbc-guard.*}). */
+    private final JdbcGuard jdbcGuard = new JdbcGuard();
+    /** Reporting of virtual threads pinned to their carrier ({@code app.virtual-threads.pinning.*}). */
+    private final Pinning pinning = new Pinning();
+
+    public JdbcGuard getJdbcGuard() {
+        return jdbcGuard;
+    }
+
+    public Pinning getPinning() {
+        return pinning;
+    }
+
+    public static class JdbcGuard {
+        /** Limit connection checkouts with a fair semaphore in front of the pool. */
+        private boolean enabled = true;
+        /** Permits per pool (primary and each replica); 0 uses each Hikari pool's maximum size. */
+        private int maxConcurrent = 0;
+        /** How long a request waits for a permit before its transaction fails. */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+    }
+
+    public static class Pinning {
+        /** Record {@code jdk.VirtualThreadPinned} JFR events, log new pinning sites and count them as metrics. */
+        private boolean enabled = true;
+        /** Shortest pinned duration reported. */
+        private Duration threshold = Duration.ofMillis(20);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+    }
+}
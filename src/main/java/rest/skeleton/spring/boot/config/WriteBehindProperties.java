@@ -0,0 +1,80 @@
+package rest.skeleton.spring.boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+
+    /** Honour {@code Prefer: respond-async} on create; when off the preference is ignored and creates stay synchronous. */
+    private boolean enabled = true;
+    /** Creates waiting for their group commit; further async creates get 503 until the flusher catches up. */
+    private int queueCapacity = 10000;
+    /** Most creates committed by one group transaction. */
+    private int maxBatchSize = 500;
+    /** How long the flusher waits for more creates after the first one of a group before committing. */
+    private Duration maxDelay = Duration.ofMillis(10);
+    /** How long the outcome of an async create stays available at its status URL. */
+    private Duration statusRetention = Duration.ofMinutes(10);
+    /** How often outcomes older than {@code status-retention} are deleted from {@code async_create}. */
+    private Duration purgeInterval = Duration.ofMinutes(1);
+    /** How long shutdown waits for accepted creates to be committed. */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public Duration getStatusRetention() {
+        return statusRetention;
+    }
+
+    public void setStatusRetention(Duration statusRetention) {
+        this.statusRetention = statusRetention;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public void setDrainTimeout(Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+}
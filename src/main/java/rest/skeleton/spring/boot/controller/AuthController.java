@@ -3,21 +3,29 @@ package rest.skeleton.spring.boot.controller;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import rest.skeleton.spring.boot.config.JwtService;
+import rest.skeleton.spring.boot.config.SecurityProperties;
+import rest.skeleton.spring.boot.service.ResourceNotFoundException;
 
 import java.util.List;
 import java.util.Map;
 
 /**
- * Simple auth controller to mint JWTs for dev/testing purposes.
+ * Simple auth controller to mint JWTs for dev/testing purposes, and to exchange HTTP Basic credentials for a JWT.
  */
 @RestController
 @RequestMapping(path = "/api/v1/auth", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AuthController {
     private final JwtService jwtService;
+    private final SecurityProperties securityProperties;
 
-    public AuthController(JwtService jwtService) {
+    public AuthController(JwtService jwtService, SecurityProperties securityProperties) {
         this.jwtService = jwtService;
+        this.securityProperties = securityProperties;
     }
 
     @PostMapping(path = "/token", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -28,6 +36,28 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("token", token));
     }
 
+    /**
+     * Exchanges HTTP Basic credentials for a JWT carrying the caller's authorities, so hot clients pay the
+     * password hash check once and then use the (cached) bearer path. Only password-authenticated callers
+     * qualify; a bearer token cannot be exchanged for a fresh one.
+     */
+    @PostMapping(path = "/exchange")
+    public ResponseEntity<Map<String, String>> exchange(Authentication authentication) {
+        if (!securityProperties.getJwt().isEnabled() || !securityProperties.getBasic().isTokenExchangeEnabled()) {
+            throw new ResourceNotFoundException("Token exchange is disabled");
+        }
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails user)) {
+            throw new InsufficientAuthenticationException("HTTP Basic credentials are required for token exchange");
+        }
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        String token = jwtService.issueToken(user.getUsername(), roles);
+        return ResponseEntity.ok(Map.of(
+                "token", token,
+                "expiresIn", String.valueOf(securityProperties.getJwt().getExpirationSeconds())));
+    }
+
     public static class TokenRequest {
         public String subject;
         public List<String> roles;
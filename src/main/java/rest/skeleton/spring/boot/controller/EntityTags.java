@@ -0,0 +1,87 @@
+package rest.skeleton.spring.boot.controller;
+
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Builds and parses strong ETags derived from the entity version column, so conditional requests can be
+ * answered without serializing (or even mapping) the response body.
+ */
+final class EntityTags {
+    /** Expected version that no stored entity can have (versions start at 0). */
+    static final long NO_MATCH = -1L;
+
+    private EntityTags() {}
+
+    /**
+     * @return the quoted strong ETag of a single entity, or {@code null} when it has no version yet
+     */
+    static String of(SampleEntity entity) {
+        return entity.getVersion() == null ? null : "\"" + entity.getVersion() + "\"";
+    }
+
+    static String of(SampleEntityView view) {
+        return view.version() == null ? null : "\"" + view.version() + "\"";
+    }
+
+    /**
+     * ETag of a list response: a digest over (id, version) of every item plus the paging flags/totals,
+     * so any insert, update or delete that changes the page changes the tag.
+     */
+    static String ofPage(List<SampleEntityView> content, boolean hasNext, Long totalElements) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (SampleEntityView e : content) {
+            buffer.clear();
+            buffer.putLong(e.id() == null ? -1L : e.id());
+            buffer.putLong(e.version() == null ? -1L : e.version());
+            digest.update(buffer.array());
+        }
+        digest.update((hasNext + ":" + totalElements).getBytes(StandardCharsets.US_ASCII));
+        byte[] hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the expected entity version. Tags that can never match a current
+     * version (weak tags, tags we did not issue) map to {@link #NO_MATCH}, which makes the write fail with 412.
+     *
+     * @return the expected version, or {@code null} when the header is absent or {@code *} (any current version)
+     * @throws IllegalArgumentException for malformed headers or multiple tags
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) return null;
+        String value = ifMatch.trim();
+        if ("*".equals(value)) return null;
+        if (value.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("If-Match with multiple entity tags is not supported");
+        }
+        if (value.startsWith("W/")) {
+            // If-Match uses strong comparison: a weak tag never matches
+            return NO_MATCH;
+        }
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new IllegalArgumentException("Malformed If-Match entity tag: " + value);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
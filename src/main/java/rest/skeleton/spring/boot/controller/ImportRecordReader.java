@@ -0,0 +1,308 @@
+package rest.skeleton.spring.boot.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import rest.skeleton.spring.boot.controller.dto.CreateSampleEntityRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Incremental reader for import payloads (NDJSON or CSV with a header row), so only the current record is held in
+ * memory. NDJSON records are parsed by a Jackson {@link JsonParser} reading straight from the request body; each
+ * parser is bounded to one line, so a malformed record is reported and the next line parsed again. CSV records
+ * follow RFC 4180 and may contain line breaks inside quoted fields, as written by the export. Records are capped at
+ * {@code maxLineLength} characters: the rest of an overlong record is skipped without being buffered. Parse failures
+ * are returned as records carrying an error instead of aborting the whole import.
+ */
+final class ImportRecordReader {
+
+    /** @param line number of the line the record starts on */
+    record ImportRecord(long line, CreateSampleEntityRequest request, String error) {}
+
+    private final Reader reader;
+    private final ObjectReader jsonReader;
+    private final int maxLineLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder csvRecord = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean overlong;
+    private int nameColumn = -1;
+    private int descriptionColumn = -1;
+    /** Lines started so far. */
+    private long lineNumber;
+
+    private ImportRecordReader(Reader reader, ObjectReader jsonReader, int maxLineLength) {
+        this.reader = reader;
+        this.jsonReader = jsonReader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    static ImportRecordReader ndjson(Reader reader, ObjectReader requestReader, int maxLineLength) {
+        return new ImportRecordReader(reader, requestReader, maxLineLength);
+    }
+
+    static ImportRecordReader csv(Reader reader, int maxLineLength) throws IOException {
+        ImportRecordReader csv = new ImportRecordReader(reader, null, maxLineLength);
+        csv.readCsvHeader();
+        return csv;
+    }
+
+    /**
+     * @return the next non-blank record, or {@code null} at end of input
+     */
+    ImportRecord next() throws IOException {
+        return jsonReader != null ? nextJson() : nextCsv();
+    }
+
+    private ImportRecord nextJson() throws IOException {
+        while (fill()) {
+            long line = ++lineNumber;
+            Line view = new Line();
+            ImportRecord record = parseJson(line, view);
+            view.skipRest();
+            if (view.overlong) {
+                return new ImportRecord(line, null, "line exceeds " + maxLineLength + " characters");
+            }
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /** @return the record on this line, or {@code null} when the line is blank */
+    private ImportRecord parseJson(long line, Line view) throws IOException {
+        try (JsonParser parser = jsonReader.createParser(view)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            CreateSampleEntityRequest request = jsonReader.readValue(parser);
+            if (parser.nextToken() != null) {
+                return new ImportRecord(line, null, "malformed JSON: more than one value on the line");
+            }
+            return new ImportRecord(line, request, null);
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(line, null, "malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRecord nextCsv() throws IOException {
+        String record;
+        long line;
+        do {
+            line = lineNumber + 1;
+            record = readCsvRecord();
+            if (record == null) return null;
+        } while (!overlong && record.isBlank());
+
+        if (overlong) {
+            return new ImportRecord(line, null, "record exceeds " + maxLineLength + " characters");
+        }
+        List<String> fields = splitCsv(record);
+        if (fields == null) {
+            return new ImportRecord(line, null, "malformed CSV: unbalanced quotes");
+        }
+        CreateSampleEntityRequest request = new CreateSampleEntityRequest();
+        request.setName(column(fields, nameColumn));
+        request.setDescription(column(fields, descriptionColumn));
+        return new ImportRecord(line, request, null);
+    }
+
+    /**
+     * Reads up to the next line break ({@code \n}, {@code \r\n} or {@code \r}) outside quotes. Only the first
+     * {@code maxLineLength} characters are kept; {@link #overlong} tells whether more were skipped.
+     *
+     * @return the record without its terminator, or {@code null} at end of input
+     */
+    private String readCsvRecord() throws IOException {
+        csvRecord.setLength(0);
+        overlong = false;
+        if (!fill()) {
+            return null;
+        }
+        lineNumber++;
+        boolean quoted = false;
+        while (fill()) {
+            char c = buffer[position];
+            if (!quoted && (c == '\n' || c == '\r')) {
+                consumeLineBreak();
+                break;
+            }
+            position++;
+            if (c == '"') {
+                // An escaped quote ("") toggles twice, which leaves the state unchanged
+                quoted = !quoted;
+            } else if (c == '\n' || (c == '\r' && !(fill() && buffer[position] == '\n'))) {
+                lineNumber++;
+            }
+            if (csvRecord.length() < maxLineLength) {
+                csvRecord.append(c);
+            } else {
+                overlong = true;
+            }
+        }
+        return csvRecord.toString();
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = readCsvRecord();
+        if (overlong) {
+            throw new IllegalArgumentException("CSV header exceeds " + maxLineLength + " characters");
+        }
+        List<String> columns = header == null ? null : splitCsv(header);
+        if (columns != null) {
+            for (int i = 0; i < columns.size(); i++) {
+                switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> nameColumn = i;
+                    case "description" -> descriptionColumn = i;
+                    default -> { /* extra columns (e.g. id, createdAt from an export) are ignored */ }
+                }
+            }
+        }
+        if (nameColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain a 'name' column");
+        }
+    }
+
+    /** @return whether a character is available at {@link #position}, reading the next block if needed */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (endOfInput) {
+            return false;
+        }
+        limit = reader.read(buffer);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            endOfInput = true;
+            return false;
+        }
+        return true;
+    }
+
+    /** Consumes the line break at {@link #position}, including the {@code \n} of a {@code \r\n} pair. */
+    private void consumeLineBreak() throws IOException {
+        char terminator = buffer[position++];
+        if (terminator == '\r' && fill() && buffer[position] == '\n') {
+            position++;
+        }
+    }
+
+    private static String column(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV record (RFC 4180 quoting; quoted fields may contain line breaks).
+     *
+     * @return the fields, or {@code null} when quotes are unbalanced
+     */
+    static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * The current line of the body as seen by the JSON parser: ends at the line break (which it consumes) or after
+     * {@code maxLineLength} characters, whichever comes first. Reads directly from the shared buffer.
+     */
+    private final class Line extends Reader {
+        private int length;
+        /** The line break was consumed (or the input ended). */
+        private boolean ended;
+        /** The parser gets no more characters: the line ended or the cap was reached. */
+        private boolean exhausted;
+        private boolean overlong;
+
+        @Override
+        public int read(char[] target, int offset, int count) throws IOException {
+            if (count == 0) {
+                return 0;
+            }
+            if (exhausted || !fill()) {
+                exhausted = true;
+                return -1;
+            }
+            int end = Math.min(limit, position + count);
+            int stop = position;
+            while (stop < end && buffer[stop] != '\n' && buffer[stop] != '\r') {
+                stop++;
+            }
+            int room = maxLineLength - length;
+            if (stop - position > room) {
+                overlong = true;
+                exhausted = true;
+                stop = position + room;
+            }
+            int read = stop - position;
+            System.arraycopy(buffer, position, target, offset, read);
+            position = stop;
+            length += read;
+            if (!overlong && position < limit && (buffer[position] == '\n' || buffer[position] == '\r')) {
+                consumeLineBreak();
+                ended = true;
+                exhausted = true;
+            }
+            return read == 0 && exhausted ? -1 : read;
+        }
+
+        /** Consumes what the parser left of the line, without buffering it. */
+        void skipRest() throws IOException {
+            while (!ended && fill()) {
+                char c = buffer[position];
+                if (c == '\n' || c == '\r') {
+                    consumeLineBreak();
+                    ended = true;
+                } else {
+                    position++;
+                    if (++length > maxLineLength) {
+                        overlong = true;
+                    }
+                }
+            }
+            ended = true;
+        }
+
+        @Override
+        public void close() {
+            // The parser closes its source when done; the body itself stays open for the next line
+        }
+    }
+}
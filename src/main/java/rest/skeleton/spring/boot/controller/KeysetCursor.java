@@ -0,0 +1,97 @@
+package rest.skeleton.spring.boot.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes/decodes the opaque cursor used by keyset pagination. The payload is versioned ({@code id:<n>})
+ * so the seek key can evolve without breaking cursors already handed out.
+ */
+final class KeysetCursor {
+    private static final String ID_PREFIX = "id:";
+    private static final String RANK_PREFIX = "rank:";
+    private static final String CHANGE_PREFIX = "change:";
+
+    /** Seek key of ranked results (search): score descending, then id ascending. */
+    record Ranked(double score, long id) {}
+
+    private KeysetCursor() {}
+
+    static String encode(Long lastId) {
+        if (lastId == null) return null;
+        byte[] raw = (ID_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return the last seen id, or {@code null} when the cursor is blank (first page)
+     * @throws IllegalArgumentException when the cursor is not one we issued
+     */
+    static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(ID_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(raw.substring(ID_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Covers both Base64 and number format failures (NumberFormatException is an IllegalArgumentException)
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    static String encodeRanked(double score, long lastId) {
+        // Double.toString round-trips exactly, so the next page seeks from the very same score
+        byte[] raw = (RANK_PREFIX + score + ":" + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return the last seen score and id, or {@code null} when the cursor is blank (first page)
+     * @throws IllegalArgumentException when the cursor is not a ranked cursor we issued
+     */
+    static Ranked decodeRanked(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            if (!raw.startsWith(RANK_PREFIX) || separator <= RANK_PREFIX.length()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            double score = Double.parseDouble(raw.substring(RANK_PREFIX.length(), separator));
+            if (!Double.isFinite(score)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Ranked(score, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    static String encodeChange(long position) {
+        byte[] raw = (CHANGE_PREFIX + position).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return the last seen change-feed position, or {@code null} when the cursor is blank (start of the feed)
+     * @throws IllegalArgumentException when the cursor is not a change cursor we issued
+     */
+    static Long decodeChange(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CHANGE_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long position = Long.parseLong(raw.substring(CHANGE_PREFIX.length()));
+            if (position < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package rest.skeleton.spring.boot.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rest.skeleton.spring.boot.config.BulkProperties;
+import rest.skeleton.spring.boot.controller.dto.BatchCreateResponse;
+import rest.skeleton.spring.boot.controller.dto.BatchDeleteRequest;
+import rest.skeleton.spring.boot.controller.dto.BatchDeleteResponse;
+import rest.skeleton.spring.boot.controller.dto.BatchGetRequest;
+import rest.skeleton.spring.boot.controller.dto.BatchGetResponse;
+import rest.skeleton.spring.boot.controller.dto.BatchItemResultDto;
+import rest.skeleton.spring.boot.controller.dto.CreateSampleEntityRequest;
+import rest.skeleton.spring.boot.controller.dto.ImportResultDto;
+import rest.skeleton.spring.boot.controller.dto.SampleEntityDto;
+import rest.skeleton.spring.boot.controller.error.ApiError;
+import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.service.BulkWriteResult;
+import rest.skeleton.spring.boot.service.SampleEntityBulkService;
+import rest.skeleton.spring.boot.service.SampleEntityService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk endpoints for SampleEntity (batch create/get/delete, export, import). Mapped from {@code /api/v1} because custom methods
+ * use the {@code /sample-entities:<verb>} form, which cannot be expressed below the collection mapping.
+ */
+@RestController
+@RequestMapping(path = "/api/v1", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Sample Entities", description = "CRUD operations for SampleEntity")
+public class SampleEntityBatchController {
+    private static final Logger log = LoggerFactory.getLogger(SampleEntityBatchController.class);
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final SampleEntityBulkService bulkService;
+    private final SampleEntityService service;
+    private final Validator validator;
+    private final BulkProperties properties;
+    private final ObjectWriter dtoWriter;
+    private final ObjectReader requestReader;
+
+    public SampleEntityBatchController(SampleEntityBulkService bulkService, SampleEntityService service,
+                                       Validator validator, BulkProperties properties, ObjectMapper objectMapper) {
+        this.bulkService = bulkService;
+        this.service = service;
+        this.validator = validator;
+        this.properties = properties;
+        this.dtoWriter = objectMapper.writerFor(SampleEntityDto.class);
+        this.requestReader = objectMapper.readerFor(CreateSampleEntityRequest.class);
+    }
+
+    @PostMapping(path = "/sample-entities:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create many SampleEntities in one request",
+            description = "Items are validated individually; valid items are inserted in chunked transactions "
+                    + "with JDBC batching. Results are reported per item in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed; see per-item results",
+                    content = @Content(schema = @Schema(implementation = BatchCreateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public BatchCreateResponse createBatch(@RequestBody List<CreateSampleEntityRequest> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("batch must contain at least one item");
+        }
+        if (items.size() > properties.getMaxItems()) {
+            throw new IllegalArgumentException("batch must not contain more than " + properties.getMaxItems() + " items");
+        }
+
+        BatchItemResultDto[] results = new BatchItemResultDto[items.size()];
+        List<SampleEntity> toCreate = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateSampleEntityRequest item = items.get(i);
+            Map<String, String> errors = validate(item);
+            if (errors.isEmpty()) {
+                toCreate.add(SampleEntityMapper.from(item.getName(), item.getDescription()));
+                positions.add(i);
+            } else {
+                results[i] = new BatchItemResultDto(i, BatchItemResultDto.INVALID, null, errors);
+            }
+        }
+
+        List<BulkWriteResult> written = bulkService.createAll(toCreate);
+        for (int j = 0; j < written.size(); j++) {
+            int index = positions.get(j);
+            BulkWriteResult r = written.get(j);
+            results[index] = r.isCreated()
+                    ? new BatchItemResultDto(index, BatchItemResultDto.CREATED, r.id(), null)
+                    : new BatchItemResultDto(index, BatchItemResultDto.FAILED, null, Map.of("reason", r.error()));
+        }
+        return new BatchCreateResponse(List.of(results));
+    }
+
+    @PostMapping(path = "/sample-entities:batchGet", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get many SampleEntities by id list",
+            description = "Same as `GET /api/v1/sample-entities?ids=...` for id lists too long for a URL. "
+                    + "Found entities are returned in request order, unknown ids are listed in `notFound`.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK",
+                    content = @Content(schema = @Schema(implementation = BatchGetResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized id list",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public BatchGetResponse getBatch(@RequestBody BatchGetRequest request) {
+        List<Long> ids = request.getIds();
+        List<SampleEntityDto> content = service.getByIds(ids).stream().map(SampleEntityMapper::toDto).toList();
+        return new BatchGetResponse(ids, content);
+    }
+
+    @PostMapping(path = "/sample-entities:batchDelete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Delete many SampleEntities by id list or creation-time range",
+            description = "Runs set-based deletes in bounded batches, each in its own transaction. "
+                    + "Batches committed before a failure stay committed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deleted",
+                    content = @Content(schema = @Schema(implementation = BatchDeleteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Missing, ambiguous or oversized selection",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public BatchDeleteResponse deleteBatch(@RequestBody BatchDeleteRequest request) {
+        boolean byIds = request.getIds() != null;
+        boolean byRange = request.getCreatedFrom() != null || request.getCreatedBefore() != null;
+        if (byIds == byRange) {
+            throw new IllegalArgumentException("specify either ids or a createdFrom/createdBefore range");
+        }
+        if (byIds) {
+            List<Long> ids = request.getIds();
+            if (ids.isEmpty() || ids.contains(null)) {
+                throw new IllegalArgumentException("ids must contain at least one non-null id");
+            }
+            if (ids.size() > properties.getMaxItems()) {
+                throw new IllegalArgumentException("ids must not contain more than " + properties.getMaxItems() + " items");
+            }
+            return new BatchDeleteResponse(bulkService.deleteByIds(ids));
+        }
+        if (request.getCreatedFrom() == null || request.getCreatedBefore() == null) {
+            throw new IllegalArgumentException("createdFrom and createdBefore must both be set");
+        }
+        if (!request.getCreatedFrom().isBefore(request.getCreatedBefore())) {
+            throw new IllegalArgumentException("createdFrom must be before createdBefore");
+        }
+        long deleted = bulkService.deleteCreatedBetween(request.getCreatedFrom(), request.getCreatedBefore());
+        log.info("[BULK] Deleted {} rows created in [{}, {})", deleted, request.getCreatedFrom(), request.getCreatedBefore());
+        return new BatchDeleteResponse(deleted);
+    }
+
+    @GetMapping(path = "/sample-entities/export", produces = MediaType.ALL_VALUE)
+    @Operation(summary = "Export all SampleEntities as NDJSON or CSV",
+            description = "Streams rows as they are read from the database; memory use does not depend on table size.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed export",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Output format: ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = switch (format.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> false;
+            case "csv" -> true;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+        StreamingResponseBody body = out -> {
+            if (csv) {
+                out.write("id,name,description,createdAt\n".getBytes(StandardCharsets.UTF_8));
+            }
+            long[] written = {0};
+            bulkService.streamAll(row -> {
+                try {
+                    SampleEntityDto dto = SampleEntityMapper.toDto(row);
+                    if (csv) {
+                        writeCsvRow(out, dto);
+                    } else {
+                        out.write(dtoWriter.writeValueAsBytes(dto));
+                        out.write('\n');
+                    }
+                    // Push the first row out immediately, then let the container buffer in between
+                    if (++written[0] == 1 || written[0] % FLUSH_EVERY_ROWS == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        String filename = csv ? "sample-entities.csv" : "sample-entities.ndjson";
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    @PostMapping(path = "/sample-entities/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Import SampleEntities from NDJSON or CSV",
+            description = "The body is read record by record and committed in fixed-size chunks, so memory use does "
+                    + "not depend on the file size and the upload is only consumed as fast as rows are committed. "
+                    + "CSV input needs a header row with a 'name' column (and optionally 'description'); quoted "
+                    + "fields may contain line breaks, so CSV exports can be imported again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see counts and per-line errors",
+                    content = @Content(schema = @Schema(implementation = ImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing CSV header",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public ImportResultDto importEntities(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                          InputStream body) throws IOException {
+        // ImportRecordReader buffers itself and caps each record at import-max-line-length
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        ImportRecordReader records = CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? ImportRecordReader.csv(reader, properties.getImportMaxLineLength())
+                : ImportRecordReader.ndjson(reader, requestReader, properties.getImportMaxLineLength());
+
+        ImportResultDto result = new ImportResultDto();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<SampleEntity> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        ImportRecordReader.ImportRecord record;
+        while ((record = records.next()) != null) {
+            result.setProcessed(result.getProcessed() + 1);
+            String error = record.error();
+            if (error == null) {
+                Map<String, String> violations = validate(record.request());
+                if (!violations.isEmpty()) {
+                    error = describe(violations);
+                }
+            }
+            if (error != null) {
+                addImportError(result, record.line(), error);
+                continue;
+            }
+            chunk.add(SampleEntityMapper.from(record.request().getName(), record.request().getDescription()));
+            chunkLines.add(record.line());
+            if (chunk.size() >= chunkSize) {
+                commitImportChunk(chunk, chunkLines, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            commitImportChunk(chunk, chunkLines, result);
+        }
+        log.info("[IMPORT] Finished: processed={}, imported={}, failed={}, chunks={}",
+                result.getProcessed(), result.getImported(), result.getFailed(), result.getChunks());
+        return result;
+    }
+
+    private void commitImportChunk(List<SampleEntity> chunk, List<Long> lines, ImportResultDto result) {
+        List<BulkWriteResult> written = bulkService.createAll(chunk);
+        for (int i = 0; i < written.size(); i++) {
+            BulkWriteResult r = written.get(i);
+            if (r.isCreated()) {
+                result.setImported(result.getImported() + 1);
+            } else {
+                addImportError(result, lines.get(i), r.error());
+            }
+        }
+        result.setChunks(result.getChunks() + 1);
+        log.info("[IMPORT] Chunk {} done: processed={}, imported={}, failed={}",
+                result.getChunks(), result.getProcessed(), result.getImported(), result.getFailed());
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void addImportError(ImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < properties.getImportMaxErrors()) {
+            result.getErrors().add(new ImportResultDto.LineError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String describe(Map<String, String> violations) {
+        StringBuilder sb = new StringBuilder();
+        violations.forEach((field, message) -> {
+            if (!sb.isEmpty()) sb.append("; ");
+            sb.append(field).append(": ").append(message);
+        });
+        return sb.toString();
+    }
+
+    private static void writeCsvRow(OutputStream out, SampleEntityDto dto) throws IOException {
+        String row = dto.getId() + ","
+                + csvField(dto.getName()) + ","
+                + csvField(dto.getDescription()) + ","
+                + (dto.getCreatedAt() == null ? "" : dto.getCreatedAt().toString())
+                + "\n";
+        out.write(row.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private Map<String, String> validate(CreateSampleEntityRequest item) {
+        if (item == null) {
+            return Map.of("item", "must not be null");
+        }
+        Set<ConstraintViolation<CreateSampleEntityRequest>> violations = validator.validate(item);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<CreateSampleEntityRequest> v : violations) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return errors;
+    }
+}
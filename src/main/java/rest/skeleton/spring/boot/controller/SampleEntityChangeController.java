@@ -0,0 +1,216 @@
+package rest.skeleton.spring.boot.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rest.skeleton.spring.boot.config.ChangeFeedProperties;
+import rest.skeleton.spring.boot.controller.dto.ChangeDto;
+import rest.skeleton.spring.boot.controller.error.ApiError;
+import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
+import rest.skeleton.spring.boot.domain.SampleEntityChangeView;
+import rest.skeleton.spring.boot.service.SampleEntityChangeService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Change feed of SampleEntity: every committed create, update and delete in a gap-free order, resumable from an
+ * opaque cursor. Served as long-poll NDJSON (one response per batch) or as a Server-Sent Events stream. Waiting
+ * holds no request thread: responses are completed from the task executor once the relay publishes new changes.
+ */
+@RestController
+@RequestMapping("/api/v1/sample-entities")
+@Validated
+@Tag(name = "Sample Entities", description = "CRUD operations for SampleEntity")
+@ConditionalOnProperty(prefix = "app.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleEntityChangeController {
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final SampleEntityChangeService changeService;
+    private final ChangeFeedProperties properties;
+    private final ObjectWriter changeWriter;
+    private final Executor executor;
+
+    public SampleEntityChangeController(SampleEntityChangeService changeService, ChangeFeedProperties properties,
+                                        ObjectMapper objectMapper,
+                                        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                        Executor executor) {
+        this.changeService = changeService;
+        this.properties = properties;
+        this.changeWriter = objectMapper.writerFor(ChangeDto.class);
+        this.executor = executor;
+    }
+
+    @GetMapping(path = "/changes", produces = {"application/x-ndjson", MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Follow changes to SampleEntities",
+            description = "Returns changes after the cursor, oldest first. With `Accept: application/x-ndjson` "
+                    + "(default) the request waits up to `wait` seconds for the first change and returns a batch of "
+                    + "up to `limit` lines; an empty body means nothing changed. With `Accept: text/event-stream` "
+                    + "changes are streamed as `change` events whose id is the cursor, so reconnecting clients resume "
+                    + "via `Last-Event-ID`. Omit the cursor to start from the oldest change still kept.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes",
+                    content = {@Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = ChangeDto.class)),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or wait",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "410", description = "The cursor points before the oldest change still kept",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<ResponseBodyEmitter> changes(
+            @Parameter(description = "Cursor of the last change processed; omit to start from the oldest kept change")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Server-Sent Events reconnect cursor; takes precedence over `after`")
+            @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            @Parameter(description = "Long-poll only: seconds to wait for a change when caught up")
+            @RequestParam(defaultValue = "25") @Min(0) @Max(60) int wait,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        Long cursor = KeysetCursor.decodeChange(lastEventId != null && !lastEventId.isBlank() ? lastEventId : after);
+        long position = cursor != null ? cursor : changeService.startPosition();
+        // Read the first batch on the request thread, so an expired cursor is still answered with a 410
+        List<SampleEntityChangeView> first = changeService.read(position, limit);
+
+        if (acceptsEventStream(accept)) {
+            SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+            new EventStream(emitter, position, limit).start(first);
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(TimeUnit.SECONDS.toMillis(wait + 5L));
+        if (!first.isEmpty() || wait == 0) {
+            sendBatch(emitter, first);
+        } else {
+            changeService.awaitAfter(position)
+                    .orTimeout(wait, TimeUnit.SECONDS)
+                    .whenCompleteAsync((ignored, timedOut) -> {
+                        try {
+                            // Timed out: nothing changed, answer with an empty body
+                            sendBatch(emitter, timedOut != null ? List.of() : changeService.read(position, limit));
+                        } catch (RuntimeException e) {
+                            emitter.completeWithError(e);
+                        }
+                    }, executor);
+        }
+        return ResponseEntity.ok().contentType(SampleEntityBatchController.NDJSON).body(emitter);
+    }
+
+    private void sendBatch(ResponseBodyEmitter emitter, List<SampleEntityChangeView> changes) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (SampleEntityChangeView change : changes) {
+                lines.append(changeWriter.writeValueAsString(toDto(change))).append('\n');
+            }
+            if (!lines.isEmpty()) {
+                emitter.send(lines.toString(), SampleEntityBatchController.NDJSON);
+            }
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static boolean acceptsEventStream(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        // Only an explicit text/event-stream selects streaming; */* gets the long-poll response
+        return MediaType.parseMediaTypes(accept).stream().anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+    }
+
+    private static ChangeDto toDto(SampleEntityChangeView change) {
+        return new ChangeDto(KeysetCursor.encodeChange(change.position()), change.type().name(), change.entityId(),
+                change.item() == null ? null : change.item().version(),
+                change.item() == null ? null : SampleEntityMapper.toDto(change.item()),
+                change.changedAt());
+    }
+
+    /**
+     * One Server-Sent Events response: sends what is available, waits for the relay (sending a keep-alive comment
+     * when idle for a heartbeat interval) and repeats until the stream times out or the client goes away.
+     */
+    private final class EventStream {
+        private final SseEmitter emitter;
+        private final int limit;
+        private volatile long position;
+        private volatile boolean closed;
+
+        EventStream(SseEmitter emitter, long position, int limit) {
+            this.emitter = emitter;
+            this.position = position;
+            this.limit = limit;
+            emitter.onCompletion(() -> closed = true);
+            emitter.onError(error -> closed = true);
+            emitter.onTimeout(() -> {
+                closed = true;
+                emitter.complete();
+            });
+        }
+
+        void start(List<SampleEntityChangeView> first) {
+            try {
+                send(first);
+                awaitNext();
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void awaitNext() {
+            changeService.awaitAfter(position)
+                    .orTimeout(properties.getHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS)
+                    .whenCompleteAsync((ignored, idle) -> {
+                        if (closed) {
+                            return;
+                        }
+                        try {
+                            if (idle != null) {
+                                emitter.send(SseEmitter.event().comment("keep-alive"));
+                            } else {
+                                send(changeService.read(position, limit));
+                            }
+                            awaitNext();
+                        } catch (IOException | RuntimeException e) {
+                            closed = true;
+                            emitter.completeWithError(e);
+                        }
+                    }, executor);
+        }
+
+        private void send(List<SampleEntityChangeView> changes) throws IOException {
+            for (SampleEntityChangeView change : changes) {
+                ChangeDto dto = toDto(change);
+                emitter.send(SseEmitter.event()
+                        .id(dto.getCursor())
+                        .name("change")
+                        .data(dto, MediaType.APPLICATION_JSON));
+                position = change.position();
+            }
+        }
+    }
+}
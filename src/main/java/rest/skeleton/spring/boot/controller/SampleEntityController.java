@@ -1,78 +1,272 @@
 package rest.skeleton.spring.boot.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
+import rest.skeleton.spring.boot.controller.dto.AsyncCreateStatusDto;
+import rest.skeleton.spring.boot.controller.dto.BatchGetResponse;
 import rest.skeleton.spring.boot.controller.dto.CreateSampleEntityRequest;
+import rest.skeleton.spring.boot.controller.dto.CursorPageDto;
 import rest.skeleton.spring.boot.controller.dto.SampleEntityDto;
+import rest.skeleton.spring.boot.controller.dto.SliceDto;
 import rest.skeleton.spring.boot.controller.dto.UpdateSampleEntityRequest;
 import rest.skeleton.spring.boot.controller.error.ApiError;
 import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.service.AsyncCreateStatus;
+import rest.skeleton.spring.boot.service.IdempotencyService;
+import rest.skeleton.spring.boot.service.IdempotentResponse;
+import rest.skeleton.spring.boot.service.ResourceNotFoundException;
 import rest.skeleton.spring.boot.service.SampleEntityService;
+import rest.skeleton.spring.boot.service.SampleEntityWriteBehind;
 
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @RequestMapping("/api/v1/sample-entities")
 @Validated
 @Tag(name = "Sample Entities", description = "CRUD operations for SampleEntity")
 public class SampleEntityController {
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RESPOND_ASYNC = "respond-async";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
     private final SampleEntityService service;
+    private final ObjectProvider<SampleEntityWriteBehind> writeBehind;
+    private final ObjectProvider<IdempotencyService> idempotency;
+    private final ObjectMapper objectMapper;
 
-    public SampleEntityController(SampleEntityService service) {
+    public SampleEntityController(SampleEntityService service, ObjectProvider<SampleEntityWriteBehind> writeBehind,
+                                  ObjectProvider<IdempotencyService> idempotency, ObjectMapper objectMapper) {
         this.service = service;
+        this.writeBehind = writeBehind;
+        this.idempotency = idempotency;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
-    @Operation(summary = "Create a new SampleEntity")
+    @Operation(summary = "Create a new SampleEntity",
+            description = "With `Prefer: respond-async` the create is queued and committed together with other "
+                    + "queued creates; the 202 is sent once its outcome is committed, with a `Location` that reports "
+                    + "`created` and the id, or `failed`. With an `Idempotency-Key` the first response is stored "
+                    + "and returned again (with `Idempotent-Replayed: true`) for repeats of the same request.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Created",
                     content = @Content(schema = @Schema(implementation = SampleEntityDto.class))),
+            @ApiResponse(responseCode = "202", description = "Async create committed; Location is the status URL"),
             @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused for a different request",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "503", description = "Too many pending async creates; see Retry-After",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
     public ResponseEntity<SampleEntityDto> create(@Valid @RequestBody CreateSampleEntityRequest request,
+                                                  @RequestHeader(name = PREFER, required = false) String prefer,
+                                                  @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                  Principal principal,
                                                   UriComponentsBuilder uriBuilder) {
+        IdempotencyService idempotent = idempotencyKey != null ? idempotency.getIfAvailable() : null;
+        if (idempotent == null) {
+            return createNow(request, prefer, uriBuilder);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        String requestHash = IdempotencyService.fingerprint("POST /api/v1/sample-entities",
+                request.getName(), request.getDescription(), String.valueOf(prefersAsync(prefer)));
+        AtomicReference<ResponseEntity<SampleEntityDto>> executed = new AtomicReference<>();
+        IdempotentResponse stored = idempotent.execute(principal == null ? "" : principal.getName(), idempotencyKey,
+                requestHash, () -> {
+                    ResponseEntity<SampleEntityDto> response = createNow(request, prefer, uriBuilder);
+                    executed.set(response);
+                    return toStored(response);
+                });
+        return executed.get() != null ? executed.get() : replay(stored);
+    }
+
+    private ResponseEntity<SampleEntityDto> createNow(CreateSampleEntityRequest request, String prefer,
+                                                      UriComponentsBuilder uriBuilder) {
         SampleEntity toCreate = SampleEntityMapper.from(request.getName(), request.getDescription());
+        SampleEntityWriteBehind queue = prefersAsync(prefer) ? writeBehind.getIfAvailable() : null;
+        if (queue != null) {
+            String token = queue.submit(toCreate);
+            URI status = uriBuilder.path("/api/v1/sample-entities/pending/{token}").buildAndExpand(token).toUri();
+            return ResponseEntity.accepted().location(status).header(PREFERENCE_APPLIED, RESPOND_ASYNC).build();
+        }
         SampleEntity created = service.create(toCreate);
         SampleEntityDto body = SampleEntityMapper.toDto(created);
         URI location = uriBuilder.path("/api/v1/sample-entities/{id}").buildAndExpand(created.getId()).toUri();
-        return ResponseEntity.created(location).body(body);
+        return ResponseEntity.created(location).eTag(EntityTags.of(created)).body(body);
+    }
+
+    private IdempotentResponse toStored(ResponseEntity<SampleEntityDto> response) {
+        HttpHeaders headers = response.getHeaders();
+        try {
+            String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+            return new IdempotentResponse(response.getStatusCode().value(), headers.getFirst(HttpHeaders.LOCATION),
+                    headers.getETag(), body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ResponseEntity<SampleEntityDto> replay(IdempotentResponse stored) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status()).header(IDEMPOTENT_REPLAYED, "true");
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        if (stored.etag() != null) {
+            builder.eTag(stored.etag());
+        }
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        try {
+            return builder.body(objectMapper.readValue(stored.body(), SampleEntityDto.class));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/pending/{token}")
+    @Operation(summary = "Status of an async create",
+            description = "`created` with the id, or `failed` when nothing was written. Outcomes are stored, so "
+                    + "any instance answers; they are kept for `app.write-behind.status-retention`.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK",
+                    content = @Content(schema = @Schema(implementation = AsyncCreateStatusDto.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired token",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<AsyncCreateStatusDto> pendingCreate(@PathVariable String token) {
+        AsyncCreateStatus status = Optional.ofNullable(writeBehind.getIfAvailable())
+                .flatMap(queue -> queue.status(token))
+                .orElseThrow(() -> new ResourceNotFoundException("Async create " + token + " not found"));
+        AsyncCreateStatusDto body = new AsyncCreateStatusDto(status.state().name().toLowerCase(Locale.ROOT),
+                status.id(), status.error());
+        return ResponseEntity.ok().body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a SampleEntity by id")
+    @Operation(summary = "Get a SampleEntity by id",
+            description = "Responses carry a strong ETag; send it back in If-None-Match to get 304 Not Modified.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK",
                     content = @Content(schema = @Schema(implementation = SampleEntityDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match matched)"),
             @ApiResponse(responseCode = "404", description = "Not found",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
-    public SampleEntityDto getById(@PathVariable Long id) {
-        return SampleEntityMapper.toDto(service.getById(id));
+    public ResponseEntity<SampleEntityDto> getById(@PathVariable Long id, WebRequest webRequest) {
+        SampleEntityView view = service.getById(id);
+        String etag = EntityTags.of(view);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            // 304 and ETag are already set on the response; skip mapping and serialization
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(SampleEntityMapper.toDto(view));
     }
 
     @GetMapping
-    @Operation(summary = "List SampleEntities (paginated)")
+    @Operation(summary = "List SampleEntities (paginated)",
+            description = "Returns a page with `hasNext` only. Totals require an extra COUNT query "
+                    + "and are included only when `withTotal=true`.")
     @ApiResponse(responseCode = "200", description = "OK")
-    public Page<SampleEntityDto> list(@ParameterObject Pageable pageable) {
-        return service.list(pageable).map(SampleEntityMapper::toDto);
+    public ResponseEntity<SliceDto<SampleEntityDto>> list(@ParameterObject Pageable pageable,
+                                                          @Parameter(description = "Include totalElements/totalPages (runs a COUNT query)")
+                                                          @RequestParam(defaultValue = "false") boolean withTotal,
+                                                          WebRequest webRequest) {
+        Slice<SampleEntityView> slice = withTotal ? service.list(pageable) : service.listSlice(pageable);
+        Long total = slice instanceof Page<SampleEntityView> page ? page.getTotalElements() : null;
+        String etag = EntityTags.ofPage(slice.getContent(), slice.hasNext(), total);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(SliceDto.from(slice.map(SampleEntityMapper::toDto)));
+    }
+
+    @GetMapping(params = {"ids", "!after"})
+    @Operation(summary = "Get many SampleEntities by id",
+            description = "Reads all ids with one `IN` query instead of one request per id; use "
+                    + "`POST /api/v1/sample-entities:batchGet` for lists too long for a URL. Found entities are "
+                    + "returned in request order, unknown ids are listed in `notFound`. The ETag covers the ids and "
+                    + "versions returned.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK",
+                    content = @Content(schema = @Schema(implementation = BatchGetResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match matched)"),
+            @ApiResponse(responseCode = "400", description = "Empty, malformed or oversized id list",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<BatchGetResponse> getByIds(
+            @Parameter(description = "Comma-separated ids, e.g. `1,2,3`")
+            @RequestParam List<Long> ids,
+            WebRequest webRequest) {
+        List<SampleEntityView> views = service.getByIds(ids);
+        String etag = EntityTags.ofPage(views, false, null);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(new BatchGetResponse(ids, views.stream().map(SampleEntityMapper::toDto).toList()));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "List SampleEntities by cursor (keyset pagination)",
+            description = "Pass an empty `after` for the first page, then the returned `nextCursor`. "
+                    + "Cost per page is constant regardless of depth.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public CursorPageDto<SampleEntityDto> listByCursor(
+            @Parameter(description = "Opaque cursor from a previous page; empty for the first page")
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size) {
+        Slice<SampleEntityView> slice = service.listAfter(KeysetCursor.decode(after), size);
+        List<SampleEntityDto> content = slice.map(SampleEntityMapper::toDto).getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            SampleEntityView last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.encode(last.id());
+        }
+        return new CursorPageDto<>(content, size, slice.hasNext(), nextCursor);
     }
 
     @PutMapping("/{id}")
@@ -83,17 +277,20 @@ public class SampleEntityController {
             @ApiResponse(responseCode = "400", description = "Invalid argument",
                     content = @Content(schema = @Schema(implementation = ApiError.class))),
             @ApiResponse(responseCode = "404", description = "Not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
-    public SampleEntityDto updatePut(@PathVariable Long id,
-                                     @Valid @RequestBody UpdateSampleEntityRequest request) {
+    public ResponseEntity<SampleEntityDto> updatePut(@PathVariable Long id,
+                                                     @Valid @RequestBody UpdateSampleEntityRequest request,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // For PUT, name must be provided and not blank
         String name = Objects.requireNonNullElse(request.getName(), "").trim();
         if (name.isEmpty()) {
             throw new IllegalArgumentException("name must not be blank for PUT");
         }
-        SampleEntity updated = service.updatePut(id, name, request.getDescription());
-        return SampleEntityMapper.toDto(updated);
+        SampleEntityView updated = service.updatePut(id, name, request.getDescription(), EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated)).body(SampleEntityMapper.toDto(updated));
     }
 
     @PatchMapping("/{id}")
@@ -102,14 +299,17 @@ public class SampleEntityController {
             @ApiResponse(responseCode = "200", description = "Updated",
                     content = @Content(schema = @Schema(implementation = SampleEntityDto.class))),
             @ApiResponse(responseCode = "404", description = "Not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
-    public SampleEntityDto updatePatch(@PathVariable Long id,
-                                       @Valid @RequestBody UpdateSampleEntityRequest request) {
+    public ResponseEntity<SampleEntityDto> updatePatch(@PathVariable Long id,
+                                                       @Valid @RequestBody UpdateSampleEntityRequest request,
+                                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Optional<String> name = Optional.ofNullable(request.getName()).map(String::trim).filter(s -> !s.isEmpty());
         Optional<String> description = Optional.ofNullable(request.getDescription());
-        SampleEntity updated = service.updatePatch(id, name, description);
-        return SampleEntityMapper.toDto(updated);
+        SampleEntityView updated = service.updatePatch(id, name, description, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated)).body(SampleEntityMapper.toDto(updated));
     }
 
     @DeleteMapping("/{id}")
@@ -117,10 +317,27 @@ public class SampleEntityController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "No Content"),
             @ApiResponse(responseCode = "404", description = "Not found",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        service.delete(id);
+    public void delete(@PathVariable Long id,
+                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(id, EntityTags.parseIfMatch(ifMatch));
+    }
+
+    /** RFC 7240: {@code Prefer} holds comma-separated preferences, each optionally followed by a value or parameters. */
+    static boolean prefersAsync(String prefer) {
+        if (prefer == null || prefer.isBlank()) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String name = preference.split("[;=]", 2)[0].trim();
+            if (RESPOND_ASYNC.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,69 @@
+package rest.skeleton.spring.boot.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Slice;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import rest.skeleton.spring.boot.controller.dto.CursorPageDto;
+import rest.skeleton.spring.boot.controller.dto.SearchHitDto;
+import rest.skeleton.spring.boot.controller.error.ApiError;
+import rest.skeleton.spring.boot.controller.mapper.SampleEntityMapper;
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+import rest.skeleton.spring.boot.service.SampleEntitySearchService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sample-entities")
+@Validated
+@Tag(name = "Sample Entities", description = "CRUD operations for SampleEntity")
+public class SampleEntitySearchController {
+
+    private final SampleEntitySearchService searchService;
+
+    public SampleEntitySearchController(SampleEntitySearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search SampleEntities by name and description",
+            description = "Full-text and fuzzy (trigram) matching, ranked by relevance. Page with the returned "
+                    + "`nextCursor` passed back as `after`.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "Query too short/long, invalid cursor or size",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+            @ApiResponse(responseCode = "503", description = "Search exceeded its time limit",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+    })
+    public CursorPageDto<SearchHitDto> search(
+            @Parameter(description = "Search text") @RequestParam String q,
+            @Parameter(description = "Opaque cursor from a previous page; omit for the first page")
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        KeysetCursor.Ranked cursor = KeysetCursor.decodeRanked(after);
+        Slice<SampleEntitySearchHit> slice = cursor == null
+                ? searchService.search(q, null, null, size)
+                : searchService.search(q, cursor.score(), cursor.id(), size);
+        List<SearchHitDto> content = slice.getContent().stream()
+                .map(hit -> new SearchHitDto(SampleEntityMapper.toDto(hit.view()), hit.score()))
+                .toList();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            SampleEntitySearchHit last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.encodeRanked(last.score(), last.view().id());
+        }
+        return new CursorPageDto<>(content, size, slice.hasNext(), nextCursor);
+    }
+}
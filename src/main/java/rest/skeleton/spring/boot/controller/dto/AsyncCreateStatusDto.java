@@ -0,0 +1,30 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "AsyncCreateStatus", description = "Outcome of a create accepted with Prefer: respond-async")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AsyncCreateStatusDto {
+    @Schema(description = "created (committed) or failed (nothing was written)", example = "created")
+    private String status;
+    @Schema(description = "Id of the created entity", example = "1")
+    private Long id;
+    @Schema(description = "Failure reason")
+    private String error;
+
+    public AsyncCreateStatusDto() {}
+
+    public AsyncCreateStatusDto(String status, Long id, String error) {
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
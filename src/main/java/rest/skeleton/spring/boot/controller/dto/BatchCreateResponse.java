@@ -0,0 +1,30 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "BatchCreateResponse", description = "Summary and per-item results of a batch create")
+public class BatchCreateResponse {
+    @Schema(description = "Number of created entities", example = "2")
+    private int created;
+    @Schema(description = "Number of items that were invalid or failed", example = "0")
+    private int failed;
+    @Schema(description = "Per-item results in request order")
+    private List<BatchItemResultDto> results;
+
+    public BatchCreateResponse() {}
+
+    public BatchCreateResponse(List<BatchItemResultDto> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(r -> BatchItemResultDto.CREATED.equals(r.getStatus())).count();
+        this.failed = results.size() - created;
+    }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public List<BatchItemResultDto> getResults() { return results; }
+    public void setResults(List<BatchItemResultDto> results) { this.results = results; }
+}
@@ -0,0 +1,26 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(name = "BatchDeleteRequest",
+        description = "Selects the rows to delete: either `ids`, or a `createdFrom`/`createdBefore` range (not both)")
+public class BatchDeleteRequest {
+    @Schema(description = "Ids to delete; unknown ids are ignored", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Inclusive lower bound of created_at", example = "2025-01-01T00:00:00Z")
+    private Instant createdFrom;
+
+    @Schema(description = "Exclusive upper bound of created_at", example = "2025-02-01T00:00:00Z")
+    private Instant createdBefore;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public Instant getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(Instant createdFrom) { this.createdFrom = createdFrom; }
+    public Instant getCreatedBefore() { return createdBefore; }
+    public void setCreatedBefore(Instant createdBefore) { this.createdBefore = createdBefore; }
+}
@@ -0,0 +1,18 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "BatchDeleteResponse", description = "Result of a bulk delete")
+public class BatchDeleteResponse {
+    @Schema(description = "Number of rows deleted", example = "42")
+    private long deleted;
+
+    public BatchDeleteResponse() {}
+
+    public BatchDeleteResponse(long deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getDeleted() { return deleted; }
+    public void setDeleted(long deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,14 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "BatchGetRequest", description = "Ids to read; for lists too long for the `ids` query parameter")
+public class BatchGetRequest {
+    @Schema(description = "Ids to read; repeated ids are returned once", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
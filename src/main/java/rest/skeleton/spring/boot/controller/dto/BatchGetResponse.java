@@ -0,0 +1,28 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Schema(name = "BatchGetResponse", description = "Entities found for a list of ids")
+public class BatchGetResponse {
+    @Schema(description = "Entities found, in request order")
+    private List<SampleEntityDto> content;
+    @Schema(description = "Requested ids that do not exist", example = "[3]")
+    private List<Long> notFound;
+
+    public BatchGetResponse() {}
+
+    public BatchGetResponse(List<Long> ids, List<SampleEntityDto> content) {
+        this.content = content;
+        Set<Long> found = content.stream().map(SampleEntityDto::getId).collect(Collectors.toSet());
+        this.notFound = ids.stream().distinct().filter(id -> !found.contains(id)).toList();
+    }
+
+    public List<SampleEntityDto> getContent() { return content; }
+    public void setContent(List<SampleEntityDto> content) { this.content = content; }
+    public List<Long> getNotFound() { return notFound; }
+    public void setNotFound(List<Long> notFound) { this.notFound = notFound; }
+}
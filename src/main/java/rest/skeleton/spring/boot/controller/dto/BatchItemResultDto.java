@@ -0,0 +1,41 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(name = "BatchItemResult", description = "Outcome of one item of a batch request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+    public static final String CREATED = "created";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private int index;
+    @Schema(description = "Outcome: created, invalid or failed", example = "created")
+    private String status;
+    @Schema(description = "Id of the created entity", example = "1")
+    private Long id;
+    @Schema(description = "Field validation errors or failure reason")
+    private Map<String, String> errors;
+
+    public BatchItemResultDto() {}
+
+    public BatchItemResultDto(int index, String status, Long id, Map<String, String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,45 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(name = "Change", description = "One change to a SampleEntity, in feed order")
+public class ChangeDto {
+    @Schema(description = "Opaque cursor of this change; pass it as `after` (or `Last-Event-ID`) to resume after it")
+    private String cursor;
+    @Schema(description = "Kind of change", allowableValues = {"CREATED", "UPDATED", "DELETED"})
+    private String type;
+    @Schema(description = "Id of the changed SampleEntity", example = "1")
+    private Long id;
+    @Schema(description = "Version after the change (matches the entity's ETag); null for deletions", example = "2")
+    private Long version;
+    @Schema(description = "State after the change; null for deletions")
+    private SampleEntityDto item;
+    @Schema(description = "When the change was made (UTC)", example = "2025-01-01T12:00:00Z")
+    private Instant changedAt;
+
+    public ChangeDto() {}
+
+    public ChangeDto(String cursor, String type, Long id, Long version, SampleEntityDto item, Instant changedAt) {
+        this.cursor = cursor;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+        this.item = item;
+        this.changedAt = changedAt;
+    }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public SampleEntityDto getItem() { return item; }
+    public void setItem(SampleEntityDto item) { this.item = item; }
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+}
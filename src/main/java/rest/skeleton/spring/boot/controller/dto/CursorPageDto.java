@@ -0,0 +1,39 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response. {@code nextCursor} is opaque to clients and is passed back as {@code after}
+ * to fetch the following page; it is {@code null} on the last page.
+ */
+@Schema(name = "CursorPage", description = "Cursor (keyset) paginated list response")
+public class CursorPageDto<T> {
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+    @Schema(description = "Whether more items follow this page")
+    private boolean hasNext;
+    @Schema(description = "Opaque cursor for the next page; absent on the last page", example = "aWQ6NDI")
+    private String nextCursor;
+
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
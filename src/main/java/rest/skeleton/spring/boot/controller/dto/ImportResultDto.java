@@ -0,0 +1,55 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(name = "ImportResult", description = "Summary of a streaming import")
+public class ImportResultDto {
+    @Schema(description = "Number of records read", example = "1000")
+    private long processed;
+    @Schema(description = "Number of records committed", example = "998")
+    private long imported;
+    @Schema(description = "Number of records rejected or rolled back", example = "2")
+    private long failed;
+    @Schema(description = "Number of chunks written (each in its own transaction)", example = "2")
+    private int chunks;
+    @Schema(description = "Per-line errors (capped, see errorsTruncated)")
+    private List<LineError> errors = new ArrayList<>();
+    @Schema(description = "True when more errors occurred than are listed")
+    private boolean errorsTruncated;
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+    public List<LineError> getErrors() { return errors; }
+    public void setErrors(List<LineError> errors) { this.errors = errors; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    @Schema(name = "ImportLineError", description = "Error for a single input line")
+    public static class LineError {
+        @Schema(description = "1-based line number in the uploaded file", example = "17")
+        private long line;
+        @Schema(description = "What was wrong with the record", example = "name: must not be blank")
+        private String message;
+
+        public LineError() {}
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
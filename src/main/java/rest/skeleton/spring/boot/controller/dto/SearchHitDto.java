@@ -0,0 +1,23 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "SearchHit", description = "A search result with its relevance score")
+public class SearchHitDto {
+    @Schema(description = "The matching SampleEntity")
+    private SampleEntityDto item;
+    @Schema(description = "Relevance; higher is better. Only comparable within one search", example = "0.75")
+    private double score;
+
+    public SearchHitDto() {}
+
+    public SearchHitDto(SampleEntityDto item, double score) {
+        this.item = item;
+        this.score = score;
+    }
+
+    public SampleEntityDto getItem() { return item; }
+    public void setItem(SampleEntityDto item) { this.item = item; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,55 @@
+package rest.skeleton.spring.boot.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Offset-paginated list response. Totals are only present when the caller asked for them
+ * ({@code withTotal=true}), since computing them costs an extra {@code COUNT(*)} query.
+ */
+@Schema(name = "SlicePage", description = "Paginated list response; totals are included only on request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SliceDto<T> {
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+    @Schema(description = "Zero-based page index", example = "0")
+    private int page;
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+    @Schema(description = "Whether more items follow this page")
+    private boolean hasNext;
+    @Schema(description = "Total number of items; only present when withTotal=true", example = "42")
+    private Long totalElements;
+    @Schema(description = "Total number of pages; only present when withTotal=true", example = "3")
+    private Integer totalPages;
+
+    public static <T> SliceDto<T> from(Slice<T> slice) {
+        SliceDto<T> dto = new SliceDto<>();
+        dto.setContent(slice.getContent());
+        dto.setPage(slice.getNumber());
+        dto.setSize(slice.getSize());
+        dto.setHasNext(slice.hasNext());
+        if (slice instanceof Page<T> page) {
+            dto.setTotalElements(page.getTotalElements());
+            dto.setTotalPages(page.getTotalPages());
+        }
+        return dto;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+}
@@ -2,11 +2,16 @@ package rest.skeleton.spring.boot.controller.error;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,7 +19,12 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import rest.skeleton.spring.boot.service.ChangeCursorExpiredException;
+import rest.skeleton.spring.boot.service.IdempotencyKeyInProgressException;
+import rest.skeleton.spring.boot.service.IdempotencyKeyMismatchException;
+import rest.skeleton.spring.boot.service.PreconditionFailedException;
 import rest.skeleton.spring.boot.service.ResourceNotFoundException;
+import rest.skeleton.spring.boot.service.WriteBehindQueueFullException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -70,7 +80,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             violations.put(v.getPropertyPath().toString(), v.getMessage());
         }
         error.getDetails().put("violations", violations);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -90,11 +100,80 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex) {
+        ApiError error = new ApiError("precondition_failed", getMessage("error.precondition_failed", "The resource has been modified"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        // A concurrent write committed between our read and our update
+        ApiError error = new ApiError("conflict", getMessage("error.conflict", "The resource was modified concurrently"));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ApiError> handleQueryTimeout(QueryTimeoutException ex) {
+        // Statement timeout, e.g. a very broad search on a large table
+        log.warn("[QUERY-TIMEOUT] {}", ex.getMessage());
+        ApiError error = new ApiError("query_timeout", getMessage("error.query_timeout", "The query took too long"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        // No connection within the pool (or connection guard) timeout: the database is slow or saturated
+        log.warn("[DB-UNAVAILABLE] {}", ex.getMessage());
+        ApiError error = new ApiError("database_unavailable", getMessage("error.database_unavailable", "The database is temporarily unavailable"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<ApiError> handleChangeCursorExpired(ChangeCursorExpiredException ex) {
+        ApiError error = new ApiError("cursor_expired", getMessage("error.cursor_expired", "The cursor is no longer valid"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<ApiError> handleWriteBehindQueueFull(WriteBehindQueueFullException ex) {
+        // Backpressure for async creates; the flusher usually catches up within a group or two
+        ApiError error = new ApiError("write_queue_full", getMessage("error.write_queue_full", "Too many pending creates"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        ApiError error = new ApiError("idempotency_key_in_progress",
+                getMessage("error.idempotency_key_in_progress", "A request with this Idempotency-Key is in progress"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        ApiError error = new ApiError("idempotency_key_mismatch",
+                getMessage("error.idempotency_key_mismatch", "The Idempotency-Key was used for a different request"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthentication(AuthenticationException ex) {
+        ApiError error = new ApiError("unauthorized", getMessage("error.unauthorized", "Authentication is required"));
+        error.getDetails().put("description", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex) {
         ApiError error = new ApiError("invalid_argument", getMessage("error.invalid_argument", "Invalid argument provided"));
         error.getDetails().put("description", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        // Explicit content type: streaming endpoints (NDJSON, SSE) negotiate media types ApiError is not written as
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 
     @ExceptionHandler(Exception.class)
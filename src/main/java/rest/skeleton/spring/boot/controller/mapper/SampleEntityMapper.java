@@ -2,6 +2,7 @@ package rest.skeleton.spring.boot.controller.mapper;
 
 import rest.skeleton.spring.boot.controller.dto.SampleEntityDto;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
 
 public final class SampleEntityMapper {
     private SampleEntityMapper() {}
@@ -16,6 +17,16 @@ public final class SampleEntityMapper {
         return dto;
     }
 
+    public static SampleEntityDto toDto(SampleEntityView view) {
+        if (view == null) return null;
+        SampleEntityDto dto = new SampleEntityDto();
+        dto.setId(view.id());
+        dto.setName(view.name());
+        dto.setDescription(view.description());
+        dto.setCreatedAt(view.createdAt());
+        return dto;
+    }
+
     public static SampleEntity from(String name, String description) {
         SampleEntity entity = new SampleEntity();
         entity.setName(name);
@@ -0,0 +1,93 @@
+package rest.skeleton.spring.boot.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a create accepted with {@code Prefer: respond-async}: the id of the committed entity, or why nothing
+ * was written. Stored rows make the status URL answer from any instance and across restarts.
+ */
+@Entity
+@Table(name = "async_create")
+public class AsyncCreate implements Persistable<String> {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Id
+    @Column(name = "token", length = 36)
+    private String token;
+
+    /** Id of the created entity; {@code null} when the create failed. */
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "error", length = MAX_ERROR_LENGTH)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /** Assigned ids: tells Spring Data to persist (plain INSERT) instead of merging. */
+    @Transient
+    private boolean isNew;
+
+    protected AsyncCreate() {
+    }
+
+    public static AsyncCreate created(String token, Long entityId, Instant createdAt, Instant expiresAt) {
+        return of(token, entityId, null, createdAt, expiresAt);
+    }
+
+    public static AsyncCreate failed(String token, String error, Instant createdAt, Instant expiresAt) {
+        String reason = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        return of(token, null, reason, createdAt, expiresAt);
+    }
+
+    private static AsyncCreate of(String token, Long entityId, String error, Instant createdAt, Instant expiresAt) {
+        AsyncCreate record = new AsyncCreate();
+        record.token = token;
+        record.entityId = entityId;
+        record.error = error;
+        record.createdAt = createdAt;
+        record.expiresAt = expiresAt;
+        record.isNew = true;
+        return record;
+    }
+
+    @Override
+    public String getId() {
+        return token;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,110 @@
+package rest.skeleton.spring.boot.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Stored response of a request sent with an {@code Idempotency-Key}. Inserted before the request runs (a claim on
+ * the key) and completed with the response in the same transaction, so committed rows always carry a response.
+ */
+@Entity
+@Table(name = "idempotency_record")
+public class IdempotencyRecord implements Persistable<String> {
+
+    /** SHA-256 (hex) of the caller and the key. */
+    @Id
+    @Column(name = "record_key", length = 64)
+    private String key;
+
+    /** SHA-256 (hex) of the request; a key reused for a different request is rejected. */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "location", length = 2048)
+    private String location;
+
+    @Column(name = "etag", length = 255)
+    private String etag;
+
+    @Column(name = "body", length = 8000)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /** Assigned ids: tells Spring Data to persist (plain INSERT) instead of merging. */
+    @Transient
+    private boolean isNew;
+
+    protected IdempotencyRecord() {
+    }
+
+    public static IdempotencyRecord claim(String key, String requestHash, Instant createdAt, Instant expiresAt) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.key = key;
+        record.requestHash = requestHash;
+        record.createdAt = createdAt;
+        record.expiresAt = expiresAt;
+        record.isNew = true;
+        return record;
+    }
+
+    public void complete(int statusCode, String location, String etag, String body) {
+        this.statusCode = statusCode;
+        this.location = location;
+        this.etag = etag;
+        this.body = body;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
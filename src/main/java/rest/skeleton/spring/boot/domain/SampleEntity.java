@@ -5,12 +5,30 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "sample_entity", indexes = {
-        @Index(name = "idx_sample_entity_name", columnList = "name")
+        @Index(name = "idx_sample_entity_name", columnList = "name"),
+        @Index(name = "idx_sample_entity_created_at", columnList = "created_at")
 })
+@SqlResultSetMapping(name = SampleEntity.VIEW_MAPPING, classes = @ConstructorResult(
+        targetClass = SampleEntityView.class,
+        columns = {
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "name", type = String.class),
+                @ColumnResult(name = "description", type = String.class),
+                @ColumnResult(name = "created_at", type = Instant.class),
+                @ColumnResult(name = "version", type = Long.class)
+        }))
 public class SampleEntity {
 
+    /** Maps native result rows ({@code id, name, description, created_at, version}) to {@link SampleEntityView}. */
+    public static final String VIEW_MAPPING = "SampleEntityView";
+
+    /**
+     * Sequence-backed so Hibernate can batch inserts, using the pooled-lo optimizer. The effective allocation size
+     * is the database sequence increment (configurable, see V5 migration); {@code allocationSize} is the default.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sample_entity_seq")
+    @SequenceGenerator(name = "sample_entity_seq", sequenceName = "sample_entity_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 255)
@@ -22,6 +40,11 @@ public class SampleEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /** Optimistic-locking version; exposed to clients as the entity's ETag. */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) {
@@ -61,4 +84,12 @@ public class SampleEntity {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,103 @@
+package rest.skeleton.spring.boot.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Outbox row for one change to a {@link SampleEntity}, written in the same transaction as the change itself.
+ * The relay assigns {@link #getPosition() position} after commit; positions are gap-free and define the order of
+ * the change feed.
+ */
+@Entity
+@Table(name = "sample_entity_change")
+public class SampleEntityChange {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    /**
+     * One sequence value per row (no pooling), so ids follow insert order across instances. The relay publishes
+     * pending rows in id order; two changes to the same entity are serialized by its row lock, so the later one
+     * always has the higher id. Blocks reserved per instance would let an older change outrank a newer one.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sample_entity_change_seq")
+    @SequenceGenerator(name = "sample_entity_change_seq", sequenceName = "sample_entity_change_seq", allocationSize = 1)
+    private Long id;
+
+    /** Feed position; {@code null} until the relay has published the row. */
+    @Column(name = "feed_position", unique = true)
+    private Long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "entity_version")
+    private Long entityVersion;
+
+    @Column(name = "name", length = 255)
+    private String name;
+
+    @Column(name = "description", length = 1000)
+    private String description;
+
+    @Column(name = "entity_created_at")
+    private Instant entityCreatedAt;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    protected SampleEntityChange() {
+    }
+
+    /**
+     * @param view the row after the change; {@code null} for deletions
+     */
+    public static SampleEntityChange of(Type type, Long entityId, SampleEntityView view, Instant changedAt) {
+        SampleEntityChange change = new SampleEntityChange();
+        change.type = type;
+        change.entityId = entityId;
+        change.changedAt = changedAt;
+        if (view != null) {
+            change.entityVersion = view.version();
+            change.name = view.name();
+            change.description = view.description();
+            change.entityCreatedAt = view.createdAt();
+        }
+        return change;
+    }
+
+    public SampleEntityChangeView toView() {
+        SampleEntityView item = type == Type.DELETED
+                ? null
+                : new SampleEntityView(entityId, name, description, entityCreatedAt, entityVersion);
+        return new SampleEntityChangeView(position, type, entityId, item, changedAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,13 @@
+package rest.skeleton.spring.boot.domain;
+
+import java.time.Instant;
+
+/**
+ * Immutable published change, as served by the change feed.
+ *
+ * @param position gap-free feed position; consumers resume after the last position they processed
+ * @param item     the row after the change; {@code null} for deletions
+ */
+public record SampleEntityChangeView(long position, SampleEntityChange.Type type, Long entityId,
+                                     SampleEntityView item, Instant changedAt) {
+}
@@ -0,0 +1,8 @@
+package rest.skeleton.spring.boot.domain;
+
+/**
+ * One search result: the matching row and its relevance. Results are ordered by {@code score} descending,
+ * then {@code id} ascending, which is also the keyset used to page through them.
+ */
+public record SampleEntitySearchHit(SampleEntityView view, double score) {
+}
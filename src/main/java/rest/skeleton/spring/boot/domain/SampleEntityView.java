@@ -0,0 +1,17 @@
+package rest.skeleton.spring.boot.domain;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of {@link SampleEntity}, built by JPQL constructor expressions straight from the
+ * result set. Instances are never managed by the persistence context (no entity entry, no dirty-check
+ * snapshot), and being immutable they are safe to share from caches.
+ */
+public record SampleEntityView(Long id, String name, String description, Instant createdAt, Long version) {
+
+    /** Snapshot of an entity's current state, e.g. right after it was persisted. */
+    public static SampleEntityView of(SampleEntity entity) {
+        return new SampleEntityView(entity.getId(), entity.getName(), entity.getDescription(),
+                entity.getCreatedAt(), entity.getVersion());
+    }
+}
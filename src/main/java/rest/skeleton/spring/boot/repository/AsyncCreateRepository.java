@@ -0,0 +1,25 @@
+package rest.skeleton.spring.boot.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rest.skeleton.spring.boot.domain.AsyncCreate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outcomes of async creates, looked up by token and purged by expiry.
+ */
+public interface AsyncCreateRepository extends JpaRepository<AsyncCreate, String> {
+
+    /** Tokens of rows expired before {@code now}; used to purge in bounded batches. */
+    @Query("select a.token from AsyncCreate a where a.expiresAt < :now")
+    List<String> findExpiredTokens(Instant now, Limit limit);
+
+    @Modifying
+    @Query("delete from AsyncCreate a where a.token in :tokens")
+    int deleteRowsByTokenIn(Collection<String> tokens);
+}
@@ -0,0 +1,25 @@
+package rest.skeleton.spring.boot.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rest.skeleton.spring.boot.domain.IdempotencyRecord;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stored responses for {@code Idempotency-Key} requests, looked up by primary key and purged by expiry.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /** Keys of rows expired before {@code now}; used to purge in bounded batches. */
+    @Query("select r.key from IdempotencyRecord r where r.expiresAt < :now")
+    List<String> findExpiredKeys(Instant now, Limit limit);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key in :keys")
+    int deleteRowsByKeyIn(Collection<String> keys);
+}
@@ -0,0 +1,46 @@
+package rest.skeleton.spring.boot.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outbox of {@link SampleEntityChange} rows. Writers only insert; the relay publishes pending rows by assigning
+ * positions, and readers of the change feed seek on the position index.
+ */
+public interface SampleEntityChangeRepository extends JpaRepository<SampleEntityChange, Long> {
+
+    /**
+     * Committed rows not published yet, oldest first. Locked, so relays running on several instances take turns
+     * instead of publishing the same rows twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from SampleEntityChange c where c.position is null order by c.id")
+    List<SampleEntityChange> findUnpublished(Limit limit);
+
+    @Query("select max(c.position) from SampleEntityChange c")
+    Optional<Long> findMaxPosition();
+
+    @Query("select min(c.position) from SampleEntityChange c")
+    Optional<Long> findMinPosition();
+
+    @Query("select c from SampleEntityChange c where c.position > :after order by c.position")
+    List<SampleEntityChange> findPublishedAfter(long after, Limit limit);
+
+    /** Published rows older than {@code cutoff}, oldest first; used to purge the outbox in bounded batches. */
+    @Query("select c.id from SampleEntityChange c where c.position is not null and c.changedAt < :cutoff order by c.position")
+    List<Long> findPublishedIdsBefore(Instant cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from SampleEntityChange c where c.id in :ids")
+    int deleteRowsByIdIn(Collection<Long> ids);
+}
@@ -1,10 +1,125 @@
 package rest.skeleton.spring.boot.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import rest.skeleton.spring.boot.config.CacheConfig;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Write paths work on managed {@link SampleEntity} instances; read paths use the {@link SampleEntityView}
+ * constructor projections below, which skip the persistence context entirely.
+ */
+public interface SampleEntityRepository extends JpaRepository<SampleEntity, Long>, SampleEntityUpdateRepository,
+        SampleEntitySearchRepository {
+    String VIEW = "select new rest.skeleton.spring.boot.domain.SampleEntityView("
+            + "e.id, e.name, e.description, e.createdAt, e.version) from SampleEntity e";
 
-public interface SampleEntityRepository extends JpaRepository<SampleEntity, Long> {
     Page<SampleEntity> findAll(Pageable pageable);
+
+    @Query(VIEW + " where e.id = :id")
+    Optional<SampleEntityView> findViewById(Long id);
+
+    /**
+     * Rows for a list of ids in one statement, in no particular order; unknown ids are skipped. Hibernate pads the
+     * list ({@code in_clause_parameter_padding}), so only a few statement shapes are prepared.
+     */
+    @Query(VIEW + " where e.id in :ids")
+    List<SampleEntityView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query("select e.version from SampleEntity e where e.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query(value = VIEW, countQuery = "select count(e) from SampleEntity e")
+    Page<SampleEntityView> findViewPage(Pageable pageable);
+
+    /**
+     * Same rows as {@link #findViewPage(Pageable)} but returned as a {@link Slice}: Spring Data reads one extra
+     * row to compute {@code hasNext} and skips the {@code COUNT(*)} query.
+     */
+    @Query(VIEW)
+    Slice<SampleEntityView> findViewSlice(Pageable pageable);
+
+    /**
+     * Query-cached variants of {@link #findViewPage(Pageable)} and {@link #findViewSlice(Pageable)} (the count
+     * query is cached too). Cached results are keyed by SQL and paging parameters and invalidated whenever
+     * {@code sample_entity} is written, so only the common sort orders should be routed here.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.SAMPLE_ENTITY_LIST_REGION)
+    })
+    @Query(value = VIEW, countQuery = "select count(e) from SampleEntity e")
+    Page<SampleEntityView> findCachedViewPage(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.SAMPLE_ENTITY_LIST_REGION)
+    })
+    @Query(VIEW)
+    Slice<SampleEntityView> findCachedViewSlice(Pageable pageable);
+
+    /**
+     * Keyset (seek) read: rows strictly after {@code id} in primary-key order. Served by the PK index,
+     * so the cost does not depend on how deep into the table the caller is.
+     */
+    @Query(VIEW + " where e.id > :id order by e.id")
+    List<SampleEntityView> findViewsAfter(Long id, Limit limit);
+
+    /**
+     * Single-statement deletes; the returned row count tells the caller whether anything matched, so no
+     * existence check or entity load is needed beforehand.
+     */
+    @Modifying
+    @Query("delete from SampleEntity e where e.id = :id")
+    int deleteRowById(Long id);
+
+    @Modifying
+    @Query("delete from SampleEntity e where e.id = :id and e.version = :version")
+    int deleteRowByIdAndVersion(Long id, Long version);
+
+    @Modifying
+    @Query("delete from SampleEntity e where e.id in :ids")
+    int deleteRowsByIdIn(Collection<Long> ids);
+
+    /**
+     * Which of {@code ids} exist, locked until the transaction ends; a bulk delete then removes, and reports
+     * changes for, exactly these rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from SampleEntity e where e.id in :ids")
+    List<Long> lockExistingIds(Collection<Long> ids);
+
+    /**
+     * Ids created in {@code [from, to)}, in id order after {@code afterId}; used to walk a range delete in
+     * bounded batches.
+     */
+    @Query("select e.id from SampleEntity e where e.createdAt >= :from and e.createdAt < :to and e.id > :afterId order by e.id")
+    List<Long> findIdsCreatedBetween(Instant from, Instant to, Long afterId, Limit limit);
+
+    /**
+     * Streams every row in id order for exports. The fetch size makes the driver pull rows in blocks
+     * (PostgreSQL only streams with a fetch size inside a transaction); projections are not tracked by
+     * the persistence context, so nothing accumulates while the stream is read. Must be consumed inside
+     * a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW + " order by e.id")
+    Stream<SampleEntityView> streamAll();
 }
@@ -0,0 +1,26 @@
+package rest.skeleton.spring.boot.repository;
+
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ranked text search executed by the database. Only available on PostgreSQL, where the vendor migration
+ * ({@code db/vendor/postgresql}) provides the {@code search_vector} column and the GIN/trigram indexes.
+ */
+public interface SampleEntitySearchRepository {
+
+    /** Whether {@link #searchRanked} can run on the current database. */
+    boolean supportsRankedSearch();
+
+    /**
+     * Full-text matches (stemming-free {@code simple} configuration) and fuzzy trigram matches on name and
+     * description, ordered by score descending then id ascending.
+     *
+     * @param afterScore score of the last hit of the previous page, or {@code null} for the first page
+     * @param afterId    id of the last hit of the previous page; ignored when {@code afterScore} is {@code null}
+     * @param timeout    statement timeout applied to this search only
+     */
+    List<SampleEntitySearchHit> searchRanked(String query, Double afterScore, Long afterId, int limit, Duration timeout);
+}
@@ -0,0 +1,89 @@
+package rest.skeleton.spring.boot.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spring Data fragment implementation for {@link SampleEntitySearchRepository}. Candidate rows come from the
+ * GIN indexes ({@code search_vector @@ query}, {@code name % q}, {@code q <% description}); only those are
+ * scored. The score is cast to {@code double precision} so a cursor holding it compares exactly.
+ */
+class SampleEntitySearchRepositoryImpl implements SampleEntitySearchRepository {
+    private static final String SEARCH = """
+            SELECT s.id, s.name, s.description, s.created_at, s.version, s.score FROM (
+                SELECT e.id, e.name, e.description, e.created_at, e.version,
+                       CAST(ts_rank(e.search_vector, q.query)
+                            + GREATEST(similarity(e.name, :q), 0.5 * word_similarity(:q, COALESCE(e.description, '')))
+                            AS double precision) AS score
+                FROM sample_entity e, websearch_to_tsquery('simple', :q) AS q(query)
+                WHERE e.search_vector @@ q.query OR e.name % :q OR :q <% e.description
+            ) s
+            WHERE CAST(:afterScore AS double precision) IS NULL
+               OR s.score < :afterScore
+               OR (s.score = :afterScore AND s.id > :afterId)
+            ORDER BY s.score DESC, s.id ASC
+            LIMIT :limit
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public boolean supportsRankedSearch() {
+        Boolean result = postgres;
+        if (result == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+            result = dialect instanceof PostgreSQLDialect;
+            postgres = result;
+        }
+        return result;
+    }
+
+    @Override
+    public List<SampleEntitySearchHit> searchRanked(String query, Double afterScore, Long afterId, int limit,
+                                                    Duration timeout) {
+        if (!supportsRankedSearch()) {
+            throw new UnsupportedOperationException("Ranked search requires PostgreSQL");
+        }
+        // Scoped to the surrounding transaction (is_local = true), so pooled connections keep their default
+        entityManager.createNativeQuery("SELECT set_config('statement_timeout', :timeout, true)")
+                .setParameter("timeout", String.valueOf(timeout.toMillis()))
+                .getSingleResult();
+
+        NativeQuery<?> search = entityManager.createNativeQuery(SEARCH).unwrap(NativeQuery.class);
+        search.setParameter("q", query, StandardBasicTypes.STRING);
+        search.setParameter("afterScore", afterScore, StandardBasicTypes.DOUBLE);
+        search.setParameter("afterId", afterId == null ? 0L : afterId, StandardBasicTypes.LONG);
+        search.setParameter("limit", limit, StandardBasicTypes.INTEGER);
+        search.addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("description", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.INSTANT)
+                .addScalar("version", StandardBasicTypes.LONG)
+                .addScalar("score", StandardBasicTypes.DOUBLE);
+
+        List<SampleEntitySearchHit> hits = new ArrayList<>(limit);
+        for (Object row : search.getResultList()) {
+            Object[] columns = (Object[]) row;
+            SampleEntityView view = new SampleEntityView((Long) columns[0], (String) columns[1], (String) columns[2],
+                    (Instant) columns[3], (Long) columns[4]);
+            hits.add(new SampleEntitySearchHit(view, (Double) columns[5]));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,23 @@
+package rest.skeleton.spring.boot.repository;
+
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single-statement column updates that bypass the load/dirty-check/merge cycle of managed entities.
+ */
+public interface SampleEntityUpdateRepository {
+
+    /**
+     * Runs one {@code UPDATE sample_entity SET <columns>, version = version + 1 WHERE id = ? [AND version = ?]}
+     * and returns the updated row.
+     *
+     * @param columns         column name to new value ({@code null} values clear the column); only
+     *                        {@code name} and {@code description} are updatable
+     * @param expectedVersion version guard, or {@code null} for an unconditional update
+     * @return the updated row, or empty when no row matched the id (and version)
+     */
+    Optional<SampleEntityView> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion);
+}
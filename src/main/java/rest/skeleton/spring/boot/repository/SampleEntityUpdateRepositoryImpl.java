@@ -0,0 +1,104 @@
+package rest.skeleton.spring.boot.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Spring Data fragment implementation for {@link SampleEntityUpdateRepository}. On PostgreSQL the updated row
+ * comes back from the same statement via {@code RETURNING}; other databases (H2) run the UPDATE followed by a
+ * projection read of the row inside the same transaction.
+ *
+ * Either way the query cache is invalidated for {@code sample_entity}: Hibernate does this
+ * itself for {@code executeUpdate}, while a {@code RETURNING} statement runs as a query and has the same cleanup
+ * registered explicitly.
+ */
+class SampleEntityUpdateRepositoryImpl implements SampleEntityUpdateRepository {
+    private static final Set<String> UPDATABLE_COLUMNS = Set.of("name", "description");
+    private static final String RETURNING = " RETURNING id, name, description, created_at, version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean supportsReturning;
+
+    @Override
+    @Transactional
+    public Optional<SampleEntityView> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns to update");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE sample_entity SET ");
+        for (String column : columns.keySet()) {
+            if (!UPDATABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Column is not updatable: " + column);
+            }
+            sql.append(column).append(" = :").append(column).append(", ");
+        }
+        sql.append("version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :expectedVersion");
+        }
+
+        if (supportsReturning()) {
+            NativeQuery<?> query = bind(entityManager.createNativeQuery(sql + RETURNING, SampleEntity.VIEW_MAPPING),
+                    id, columns, expectedVersion);
+            SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+            session.getActionQueue().addAction(
+                    new BulkOperationCleanupAction(session, new HashSet<>(query.getSynchronizedQuerySpaces())));
+            List<?> rows = query.getResultList();
+            return rows.stream().findFirst().map(SampleEntityView.class::cast);
+        }
+
+        int updated = bind(entityManager.createNativeQuery(sql.toString()), id, columns, expectedVersion)
+                .executeUpdate();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return entityManager.createQuery(SampleEntityRepository.VIEW + " where e.id = :id", SampleEntityView.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private static NativeQuery<?> bind(Query jpaQuery, Long id, Map<String, Object> columns,
+                                       Long expectedVersion) {
+        NativeQuery<?> query = jpaQuery.unwrap(NativeQuery.class);
+        // Typed binding so that null values (clearing a column) are sent as VARCHAR, not an untyped null
+        columns.forEach((column, value) -> query.setParameter(column, (String) value, StandardBasicTypes.STRING));
+        query.setParameter("id", id, StandardBasicTypes.LONG);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion, StandardBasicTypes.LONG);
+        }
+        // Keeps Hibernate's query-space bookkeeping (auto-flush, cache invalidation) aware of the touched table
+        query.addSynchronizedEntityClass(SampleEntity.class);
+        return query;
+    }
+
+    private boolean supportsReturning() {
+        Boolean result = supportsReturning;
+        if (result == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+            result = dialect instanceof PostgreSQLDialect;
+            supportsReturning = result;
+        }
+        return result;
+    }
+}
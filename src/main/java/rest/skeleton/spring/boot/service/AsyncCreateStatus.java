@@ -0,0 +1,16 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Committed outcome of an async create: {@code CREATED} with the generated id, or {@code FAILED} with the reason
+ * (nothing was written).
+ */
+public record AsyncCreateStatus(State state, Long id, String error) {
+
+    public enum State {CREATED, FAILED}
+
+    static AsyncCreateStatus of(BulkWriteResult result) {
+        return result.isCreated()
+                ? new AsyncCreateStatus(State.CREATED, result.id(), null)
+                : new AsyncCreateStatus(State.FAILED, null, result.error());
+    }
+}
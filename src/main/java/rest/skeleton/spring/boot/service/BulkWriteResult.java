@@ -0,0 +1,19 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Outcome of a single item in a bulk write: either the generated id or the reason it was not written.
+ */
+public record BulkWriteResult(Long id, String error) {
+
+    public static BulkWriteResult created(Long id) {
+        return new BulkWriteResult(id, null);
+    }
+
+    public static BulkWriteResult failed(String error) {
+        return new BulkWriteResult(null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
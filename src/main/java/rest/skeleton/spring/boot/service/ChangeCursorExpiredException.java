@@ -0,0 +1,11 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * A change-feed cursor points before the oldest change still kept; the consumer has to resynchronize (e.g. from
+ * an export) and continue from a fresh cursor.
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
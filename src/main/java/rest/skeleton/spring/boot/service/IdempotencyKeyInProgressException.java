@@ -0,0 +1,10 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Thrown when a request with the same {@code Idempotency-Key} is still running and did not finish in time.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is reused for a request that differs from the one it was first used for.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
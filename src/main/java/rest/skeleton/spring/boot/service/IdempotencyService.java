@@ -0,0 +1,245 @@
+package rest.skeleton.spring.boot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.IdempotencyProperties;
+import rest.skeleton.spring.boot.domain.IdempotencyRecord;
+import rest.skeleton.spring.boot.repository.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key} and replays its stored response for repeats.
+ * <p>
+ * Responses are kept in two tiers: a bounded in-memory cache in front of the idempotency_record table. The row is
+ * inserted before the request runs and completed in the same transaction, so the response is stored if and only
+ * if the request's writes commit. Duplicates arriving while the first request runs are coalesced: on this instance
+ * they wait for its result; on other instances they block on the row's primary key and then read the stored
+ * response. Expired rows are purged in the background.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Stored> responses;
+    private final ConcurrentMap<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService purger;
+
+    public IdempotencyService(IdempotencyRecordRepository repository, IdempotencyProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Returns the stored response for {@code key}, or runs {@code request} and stores its response. The request
+     * runs inside the transaction that stores the response and must not be retried by the caller.
+     *
+     * @param caller       scopes the key, e.g. the authenticated principal; empty for anonymous callers
+     * @param requestHash  fingerprint of the request, see {@link #fingerprint(String...)}
+     * @throws IdempotencyKeyMismatchException   when the key was used for a different request
+     * @throws IdempotencyKeyInProgressException when a request with the key is still running
+     */
+    public IdempotentResponse execute(String caller, String key, String requestHash,
+                                      Supplier<IdempotentResponse> request) {
+        String recordKey = fingerprint(caller, key);
+        while (true) {
+            Stored cached = responses.getIfPresent(recordKey);
+            if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                return cached.replay(requestHash);
+            }
+            CompletableFuture<Stored> mine = new CompletableFuture<>();
+            CompletableFuture<Stored> running = inFlight.putIfAbsent(recordKey, mine);
+            if (running != null) {
+                Optional<Stored> first = await(running, key);
+                if (first.isPresent()) {
+                    return first.get().replay(requestHash);
+                }
+                // The first request failed and stored nothing: this one may run
+                continue;
+            }
+            try {
+                Stored stored = executeOnce(recordKey, key, requestHash, request);
+                responses.put(recordKey, stored);
+                mine.complete(stored);
+                return stored.replay(requestHash);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(recordKey, mine);
+            }
+        }
+    }
+
+    private Stored executeOnce(String recordKey, String key, String requestHash, Supplier<IdempotentResponse> request) {
+        Instant now = Instant.now();
+        boolean[] claimed = {false};
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<IdempotencyRecord> existing = repository.findById(recordKey);
+                if (existing.isPresent()) {
+                    if (existing.get().getExpiresAt().isAfter(now)) {
+                        return Stored.of(existing.get());
+                    }
+                    repository.delete(existing.get());
+                    repository.flush();
+                }
+                IdempotencyRecord record = repository.saveAndFlush(
+                        IdempotencyRecord.claim(recordKey, requestHash, now, now.plus(properties.getTtl())));
+                claimed[0] = true;
+                IdempotentResponse response = request.get();
+                record.complete(response.status(), response.location(), response.etag(), response.body());
+                return new Stored(requestHash, response, record.getExpiresAt());
+            });
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            if (claimed[0]) {
+                throw e;
+            }
+            // Another instance claimed the key first; its transaction has ended once the insert failed
+            return transactionTemplate.execute(status -> repository.findById(recordKey))
+                    .map(Stored::of)
+                    .orElseThrow(() -> new IdempotencyKeyInProgressException(
+                            "A request with Idempotency-Key " + key + " is in progress"));
+        }
+    }
+
+    private Optional<Stored> await(CompletableFuture<Stored> running, String key) {
+        try {
+            return Optional.of(running.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is in progress");
+        }
+    }
+
+    /** Deletes expired rows in bounded batches. */
+    long purgeExpired() {
+        Instant now = Instant.now();
+        int batchSize = Math.max(1, properties.getPurgeBatchSize());
+        long purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<String> keys = repository.findExpiredKeys(now, Limit.of(batchSize));
+                return keys.isEmpty() ? 0 : repository.deleteRowsByKeyIn(keys);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        if (purged > 0) {
+            log.info("[IDEMPOTENCY] Purged {} expired records", purged);
+        }
+        return purged;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (purger != null) {
+            return;
+        }
+        long interval = properties.getPurgeInterval().toMillis();
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (RuntimeException e) {
+                log.warn("[IDEMPOTENCY] Purge failed: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+            purger = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return purger != null;
+    }
+
+    /** SHA-256 (hex) over the parts, each length-prefixed so that different splits cannot collide. */
+    public static String fingerprint(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part == null) {
+                    digest.update((byte) 0);
+                    continue;
+                }
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                digest.update((byte) 1);
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Stored(String requestHash, IdempotentResponse response, Instant expiresAt) {
+
+        static Stored of(IdempotencyRecord record) {
+            IdempotentResponse response = new IdempotentResponse(record.getStatusCode(), record.getLocation(),
+                    record.getEtag(), record.getBody());
+            return new Stored(record.getRequestHash(), response, record.getExpiresAt());
+        }
+
+        IdempotentResponse replay(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * The parts of a response replayed for a repeated {@code Idempotency-Key}: status, {@code Location},
+ * {@code ETag} and the JSON body. Headers and body may be {@code null}.
+ */
+public record IdempotentResponse(int status, String location, String etag, String body) {
+}
@@ -0,0 +1,10 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Thrown when a conditional write (If-Match) targets a version that is no longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
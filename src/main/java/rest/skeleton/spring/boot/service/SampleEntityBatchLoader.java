@@ -0,0 +1,184 @@
+package rest.skeleton.spring.boot.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.BatchReadProperties;
+import rest.skeleton.spring.boot.config.ReadWriteRoutingDataSource;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reads SampleEntities by id with one {@code WHERE id IN (...)} query per batch.
+ * <p>
+ * {@link #loadAll(Collection)} serves explicit id lists. {@link #load(Long)} coalesces single-id lookups in the
+ * style of a DataLoader. A caller that finds no load in flight queries at once, so an idle service adds no delay.
+ * While a load is running, the next caller opens a batch and waits up to {@code coalesce-window} (or until the
+ * batch is full) for other callers to add their ids, then runs one query for all of them and hands each caller its
+ * row.
+ * The batch is read in the first caller's transaction, so with read/write routing a caller pinned to the primary by
+ * read-your-writes does not join: it queries on its own. Hibernate pads the id lists
+ * ({@code in_clause_parameter_padding}), so only a few statement shapes are prepared.
+ */
+@Component
+public class SampleEntityBatchLoader {
+
+    private final SampleEntityRepository repository;
+    private final BatchReadProperties properties;
+    private final TransactionTemplate readOnly;
+    private final ObjectProvider<ReadWriteRoutingDataSource> routing;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Batch still accepting ids; guarded by {@link #lock}. */
+    private Batch open;
+    /** Batches opened and not yet answered; guarded by {@link #lock}. */
+    private int inFlight;
+
+    public SampleEntityBatchLoader(SampleEntityRepository repository, BatchReadProperties properties,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<ReadWriteRoutingDataSource> routing) {
+        this.repository = repository;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.routing = routing;
+    }
+
+    /**
+     * Row for {@code id}: queried at once when no other load is in flight, otherwise read together with the other
+     * ids requested within the coalescing window. The calling thread holds no connection while it waits for the
+     * batch.
+     */
+    public Optional<SampleEntityView> load(Long id) {
+        Duration window = properties.getCoalesceWindow();
+        if (window.isZero() || window.isNegative() || pinnedToPrimary()) {
+            return Optional.ofNullable(query(List.of(id)).get(id));
+        }
+        Batch batch;
+        CompletableFuture<Optional<SampleEntityView>> result;
+        boolean leader;
+        boolean idle = false;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                batch = new Batch();
+                idle = inFlight == 0;
+                inFlight++;
+                // With nothing in flight there is no one to wait for: query at once, and let callers arriving
+                // meanwhile open the next batch
+                if (!idle) {
+                    open = batch;
+                }
+            } else {
+                batch = open;
+            }
+            result = batch.waiting.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch == open && batch.waiting.size() >= Math.max(1, properties.getCoalesceMaxBatchSize())) {
+                open = null;
+                batch.full.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (leader) {
+            dispatch(batch, idle ? Duration.ZERO : window);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rows for {@code ids} keyed by id; unknown ids are absent and repeated ids are read once.
+     *
+     * @throws IllegalArgumentException when more than {@code max-ids} distinct ids are requested
+     */
+    public Map<Long, SampleEntityView> loadAll(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > properties.getMaxIds()) {
+            throw new IllegalArgumentException("ids must not contain more than " + properties.getMaxIds() + " items");
+        }
+        return query(distinct);
+    }
+
+    private void dispatch(Batch batch, Duration window) {
+        if (window.isPositive()) {
+            try {
+                batch.full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Closed: no more ids are added, so the map can be read without the lock
+        try {
+            Map<Long, SampleEntityView> found = query(List.copyOf(batch.waiting.keySet()));
+            batch.waiting.forEach((id, waiter) -> waiter.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.waiting.values().forEach(waiter -> waiter.completeExceptionally(e));
+        } finally {
+            lock.lock();
+            try {
+                inFlight--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Whether the calling request must read from the primary, which a batch led by another caller may not do. */
+    private boolean pinnedToPrimary() {
+        ReadWriteRoutingDataSource dataSource = routing.getIfAvailable();
+        return dataSource != null && dataSource.recentlyWrote();
+    }
+
+    /** One read-only transaction; one statement per {@code chunk-size} ids. */
+    private Map<Long, SampleEntityView> query(List<Long> ids) {
+        Map<Long, SampleEntityView> found = new HashMap<>();
+        if (ids.isEmpty()) {
+            return found;
+        }
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        readOnly.executeWithoutResult(status -> {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                for (SampleEntityView view : repository.findViewsByIdIn(chunk)) {
+                    found.put(view.id(), view);
+                }
+            }
+        });
+        return found;
+    }
+
+    private static final class Batch {
+        private final Map<Long, CompletableFuture<Optional<SampleEntityView>>> waiting = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,198 @@
+package rest.skeleton.spring.boot.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.BulkProperties;
+import rest.skeleton.spring.boot.config.CacheConfig;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Bulk write operations for SampleEntity. Work is split into fixed-size chunks, each committed in its own
+ * transaction and flushed with JDBC batching, so a large request neither holds one long transaction nor
+ * grows the persistence context without bound.
+ */
+@Service
+public class SampleEntityBulkService {
+    private static final Logger log = LoggerFactory.getLogger(SampleEntityBulkService.class);
+
+    private final SampleEntityRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkProperties properties;
+    private final Cache entityCache;
+    private final ApplicationEventPublisher events;
+
+    public SampleEntityBulkService(SampleEntityRepository repository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   BulkProperties properties,
+                                   CacheManager cacheManager,
+                                   ApplicationEventPublisher events) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.entityCache = cacheManager.getCache(CacheConfig.SAMPLE_ENTITIES);
+        this.events = events;
+    }
+
+    /**
+     * Inserts the given entities chunk by chunk. A failing chunk is rolled back and reported per item;
+     * chunks committed before it stay committed.
+     *
+     * @return one result per input entity, in input order
+     */
+    public List<BulkWriteResult> createAll(List<SampleEntity> entities) {
+        return createAll(entities, (from, ids) -> {
+        });
+    }
+
+    /**
+     * Same as {@link #createAll(List)}, but calls {@code inTransaction} with each chunk's offset into
+     * {@code entities} and its generated ids before the chunk is flushed. Rows it persists are inserted in the same
+     * batched flush and commit or roll back together with the chunk.
+     */
+    public List<BulkWriteResult> createAll(List<SampleEntity> entities, BiConsumer<Integer, List<Long>> inTransaction) {
+        List<BulkWriteResult> results = new ArrayList<>(entities.size());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            List<SampleEntity> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+            results.addAll(persistChunk(chunk, from, inTransaction));
+        }
+        return results;
+    }
+
+    /**
+     * Deletes the given ids with set-based {@code DELETE ... WHERE id IN (...)} statements of at most
+     * {@code chunkSize} ids, each in its own transaction. Unknown ids are ignored.
+     *
+     * @return number of rows deleted
+     */
+    public long deleteByIds(Collection<Long> ids) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long deleted = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            deleted += deleteChunk(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes every row created in {@code [from, to)}. The range is walked in id order, one bounded batch per
+     * transaction, so locks are short-lived and the undo/WAL volume per statement stays small.
+     *
+     * @return number of rows deleted
+     */
+    public long deleteCreatedBetween(Instant from, Instant to) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long deleted = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = repository.findIdsCreatedBetween(from, to, afterId, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            deleted += deleteChunk(ids);
+            if (ids.size() < chunkSize) {
+                return deleted;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int deleteChunk(List<Long> ids) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            // Locked first, so the rows reported below are exactly the ones this statement deletes
+            List<Long> existing = repository.lockExistingIds(ids);
+            if (existing.isEmpty()) {
+                return 0;
+            }
+            int count = repository.deleteRowsByIdIn(existing);
+            // Transaction-aware cache: evictions are applied after commit
+            existing.forEach(entityCache::evict);
+            existing.forEach(id -> events.publishEvent(SampleEntityChangedEvent.deleted(id)));
+            return count;
+        });
+        log.debug("[BULK] Deleted {} of {} ids", deleted, ids.size());
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Feeds every row, in id order, to {@code sink} while the result set is being read. Rows are
+     * projections, so the persistence context stays empty and heap usage does not grow with the table size.
+     *
+     * @return number of rows streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<SampleEntityView> sink) {
+        long count = 0;
+        try (Stream<SampleEntityView> rows = repository.streamAll()) {
+            for (var it = rows.iterator(); it.hasNext(); ) {
+                sink.accept(it.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<BulkWriteResult> persistChunk(List<SampleEntity> chunk, int from,
+                                               BiConsumer<Integer, List<Long>> inTransaction) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getJdbcBatchSize());
+                List<Long> generated = new ArrayList<>(chunk.size());
+                for (SampleEntity entity : chunk) {
+                    entity.setId(null);
+                    entityManager.persist(entity);
+                    generated.add(entity.getId());
+                }
+                // Publish before flushing: listeners may persist rows of their own (the change outbox), which
+                // then go out in the same batched flush
+                for (SampleEntity entity : chunk) {
+                    events.publishEvent(SampleEntityChangedEvent.created(SampleEntityView.of(entity)));
+                }
+                inTransaction.accept(from, generated);
+                // Flush inside the transaction so the batched INSERTs run before commit, then drop the
+                // managed instances: the caller only needs the ids.
+                entityManager.flush();
+                entityManager.clear();
+                return generated;
+            });
+            List<BulkWriteResult> results = new ArrayList<>(chunk.size());
+            for (Long id : ids) {
+                results.add(BulkWriteResult.created(id));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            log.warn("[BULK] Chunk of {} rows rolled back: {}", chunk.size(), e.getMessage());
+            String reason = "chunk rolled back: " + e.getClass().getSimpleName();
+            List<BulkWriteResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkWriteResult.failed(reason));
+            }
+            return results;
+        }
+    }
+}
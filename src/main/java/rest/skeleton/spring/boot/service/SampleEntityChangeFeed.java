@@ -0,0 +1,121 @@
+package rest.skeleton.spring.boot.service;
+
+import rest.skeleton.spring.boot.domain.SampleEntityChangeView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory tail of the change feed: the most recently published changes, the latest position and the readers
+ * waiting for it to advance. The buffer only ever holds a contiguous run of positions; when positions were
+ * published elsewhere (another instance's relay) it is dropped, and reads it cannot cover fall back to the
+ * outbox table. Being contiguous, a position maps straight to its slot in the ring, so a read costs
+ * {@code O(limit)} regardless of the buffer size.
+ */
+class SampleEntityChangeFeed {
+    private final SampleEntityChangeView[] ring;
+    /** Slot of the oldest buffered change, and number of buffered changes. */
+    private int head;
+    private int size;
+    private final Set<CompletableFuture<Void>> waiters = ConcurrentHashMap.newKeySet();
+    private volatile long latest;
+
+    SampleEntityChangeFeed(int capacity) {
+        this.ring = new SampleEntityChangeView[Math.max(1, capacity)];
+    }
+
+    long latestPosition() {
+        return latest;
+    }
+
+    /** Appends changes published by the local relay, in position order, and wakes up waiting readers. */
+    void append(List<SampleEntityChangeView> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (changes.get(0).position() != latest + 1) {
+                clear();
+            }
+            for (SampleEntityChangeView change : changes) {
+                ring[(head + size) % ring.length] = change;
+                if (size < ring.length) {
+                    size++;
+                } else {
+                    head = (head + 1) % ring.length;
+                }
+            }
+            latest = changes.get(changes.size() - 1).position();
+        }
+        notifyWaiters();
+    }
+
+    /** Moves the latest position forward to changes published without going through this feed. */
+    void advanceTo(long position) {
+        synchronized (this) {
+            if (position <= latest) {
+                return;
+            }
+            clear();
+            latest = position;
+        }
+        notifyWaiters();
+    }
+
+    /**
+     * Changes after {@code after}, up to {@code limit}, if the buffer covers that range; empty when the caller
+     * must read from the outbox table instead.
+     */
+    synchronized Optional<List<SampleEntityChangeView>> read(long after, int limit) {
+        if (after >= latest) {
+            return Optional.of(List.of());
+        }
+        long oldest = latest - size + 1;
+        if (size == 0 || after < oldest - 1) {
+            return Optional.empty();
+        }
+        int offset = (int) (after + 1 - oldest);
+        int count = Math.min(limit, size - offset);
+        List<SampleEntityChangeView> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(ring[(head + offset + i) % ring.length]);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Completes once a change after {@code after} has been published. Callers bound the wait themselves (e.g.
+     * {@link CompletableFuture#orTimeout}); a future that completes in any way stops being tracked.
+     */
+    CompletableFuture<Void> awaitAfter(long after) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (latest > after) {
+            future.complete(null);
+            return future;
+        }
+        waiters.add(future);
+        future.whenComplete((ignored, error) -> waiters.remove(future));
+        // Re-check: the position may have moved between the first check and the registration
+        if (latest > after) {
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+    }
+
+    private void notifyWaiters() {
+        for (CompletableFuture<Void> waiter : waiters) {
+            waiter.complete(null);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package rest.skeleton.spring.boot.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+import rest.skeleton.spring.boot.repository.SampleEntityChangeRepository;
+
+import java.time.Instant;
+
+/**
+ * Writes every {@link SampleEntityChangedEvent} to the outbox as part of the transaction that raised it, so a
+ * change is recorded if and only if it commits. The relay is woken up after commit to publish it without
+ * waiting for its next scheduled run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleEntityChangeOutbox {
+    private final SampleEntityChangeRepository repository;
+    private final SampleEntityChangeRelay relay;
+
+    public SampleEntityChangeOutbox(SampleEntityChangeRepository repository, SampleEntityChangeRelay relay) {
+        this.repository = repository;
+        this.relay = relay;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(SampleEntityChangedEvent event) {
+        SampleEntityChange.Type type = SampleEntityChange.Type.valueOf(event.type().name());
+        repository.save(SampleEntityChange.of(type, event.id(), event.view(), Instant.now()));
+    }
+
+    @TransactionalEventListener
+    public void afterCommit(SampleEntityChangedEvent event) {
+        relay.wakeUp();
+    }
+}
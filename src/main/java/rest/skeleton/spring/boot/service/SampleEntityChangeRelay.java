@@ -0,0 +1,172 @@
+package rest.skeleton.spring.boot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.ChangeFeedProperties;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+import rest.skeleton.spring.boot.domain.SampleEntityChangeView;
+import rest.skeleton.spring.boot.repository.SampleEntityChangeRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes committed outbox rows to the change feed. Each batch is one transaction: pending rows are locked,
+ * given the next gap-free positions and handed to the in-memory feed after commit. Runs on a single daemon
+ * thread, every {@code app.changes.relay-interval} and whenever a local commit wakes it up; the same thread
+ * purges published rows past the retention period.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleEntityChangeRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SampleEntityChangeRelay.class);
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final SampleEntityChangeRepository repository;
+    private final SampleEntityChangeFeed feed;
+    private final ChangeFeedProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private volatile ScheduledExecutorService executor;
+    private Instant lastPurge = Instant.EPOCH;
+
+    public SampleEntityChangeRelay(SampleEntityChangeRepository repository, SampleEntityChangeService changeService,
+                                   ChangeFeedProperties properties, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.feed = changeService.feed();
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        long interval = properties.getRelayInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-relay");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::run, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /** Requests a run as soon as possible; requests made while one is already pending are coalesced. */
+    public void wakeUp() {
+        ScheduledExecutorService current = executor;
+        if (current != null && wakeUpPending.compareAndSet(false, true)) {
+            try {
+                current.execute(this::run);
+            } catch (RuntimeException e) {
+                // Shutting down; the pending rows are picked up after the next start
+                wakeUpPending.set(false);
+            }
+        }
+    }
+
+    void run() {
+        wakeUpPending.set(false);
+        try {
+            relayPending();
+            purgeExpired();
+        } catch (RuntimeException e) {
+            // e.g. another instance took the same positions; the rows stay pending and are retried next run
+            log.warn("[CHANGES] Relay run failed: {}", e.getMessage());
+        }
+    }
+
+    /** @return number of changes published */
+    int relayPending() {
+        int published = 0;
+        int batchSize = Math.max(1, properties.getBatchSize());
+        while (true) {
+            List<SampleEntityChangeView> batch = transactionTemplate.execute(status -> publishBatch(batchSize));
+            if (batch.isEmpty()) {
+                // Catch up with positions published by other instances
+                transactionTemplate.execute(status -> repository.findMaxPosition()).ifPresent(feed::advanceTo);
+                return published;
+            }
+            feed.append(batch);
+            published += batch.size();
+            if (batch.size() < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    private List<SampleEntityChangeView> publishBatch(int batchSize) {
+        List<SampleEntityChange> pending = repository.findUnpublished(Limit.of(batchSize));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        long position = repository.findMaxPosition().orElse(0L);
+        List<SampleEntityChangeView> published = new ArrayList<>(pending.size());
+        for (SampleEntityChange change : pending) {
+            change.setPosition(++position);
+            published.add(change.toView());
+        }
+        return published;
+    }
+
+    /** Deletes published rows older than the retention period, at most once per minute. */
+    void purgeExpired() {
+        Duration retention = properties.getRetention();
+        Instant now = Instant.now();
+        if (retention == null || now.isBefore(lastPurge.plus(PURGE_INTERVAL))) {
+            return;
+        }
+        lastPurge = now;
+        Instant cutoff = now.minus(retention);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = repository.findPublishedIdsBefore(cutoff, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : repository.deleteRowsByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        if (purged > 0) {
+            log.info("[CHANGES] Purged {} changes older than {}", purged, cutoff);
+        }
+    }
+}
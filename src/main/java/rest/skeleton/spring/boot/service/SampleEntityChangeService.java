@@ -0,0 +1,77 @@
+package rest.skeleton.spring.boot.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.ChangeFeedProperties;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+import rest.skeleton.spring.boot.domain.SampleEntityChangeView;
+import rest.skeleton.spring.boot.repository.SampleEntityChangeRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read side of the sample_entity change feed. Consumers that are caught up are served from the in-memory tail
+ * the relay appends to; consumers further behind read the published outbox rows by position.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleEntityChangeService {
+    private final SampleEntityChangeRepository repository;
+    private final TransactionTemplate readOnly;
+    private final SampleEntityChangeFeed feed;
+
+    public SampleEntityChangeService(SampleEntityChangeRepository repository,
+                                     PlatformTransactionManager transactionManager,
+                                     ChangeFeedProperties properties) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.feed = new SampleEntityChangeFeed(properties.getBufferSize());
+    }
+
+    SampleEntityChangeFeed feed() {
+        return feed;
+    }
+
+    /**
+     * Position to start from when the consumer has no cursor: just before the oldest change still kept, or the
+     * latest position when nothing is kept.
+     */
+    public long startPosition() {
+        Optional<Long> oldest = readOnly.execute(status -> repository.findMinPosition());
+        return oldest.map(position -> position - 1).orElseGet(feed::latestPosition);
+    }
+
+    /**
+     * Published changes after {@code after}, in position order, up to {@code limit}; empty when the consumer is
+     * caught up.
+     *
+     * @throws ChangeCursorExpiredException when changes right after {@code after} have already been purged
+     */
+    public List<SampleEntityChangeView> read(long after, int limit) {
+        Optional<List<SampleEntityChangeView>> buffered = feed.read(after, limit);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
+        List<SampleEntityChange> rows = readOnly.execute(status -> repository.findPublishedAfter(after, Limit.of(limit)));
+        // Positions are gap-free, so a jump means the rows in between were purged. An empty result is not proof
+        // (a lagging replica may simply not have them yet); the next published change will reveal the gap.
+        if (!rows.isEmpty() && rows.get(0).getPosition() > after + 1) {
+            throw new ChangeCursorExpiredException("Changes after position " + after + " are no longer kept");
+        }
+        return rows.stream().map(SampleEntityChange::toView).toList();
+    }
+
+    /**
+     * Completes (on the relay thread) once a change after {@code after} is published; see
+     * {@link SampleEntityChangeFeed#awaitAfter(long)}.
+     */
+    public CompletableFuture<Void> awaitAfter(long after) {
+        return feed.awaitAfter(after);
+    }
+}
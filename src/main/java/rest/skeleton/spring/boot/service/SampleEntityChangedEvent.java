@@ -0,0 +1,26 @@
+package rest.skeleton.spring.boot.service;
+
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+/**
+ * Published by the write paths for every row they create, update or delete. Listeners that must only see
+ * committed state use {@code @TransactionalEventListener} (after commit, the default phase).
+ *
+ * @param view the row after the change; {@code null} for deletions
+ */
+public record SampleEntityChangedEvent(Type type, Long id, SampleEntityView view) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static SampleEntityChangedEvent created(SampleEntityView view) {
+        return new SampleEntityChangedEvent(Type.CREATED, view.id(), view);
+    }
+
+    public static SampleEntityChangedEvent updated(SampleEntityView view) {
+        return new SampleEntityChangedEvent(Type.UPDATED, view.id(), view);
+    }
+
+    public static SampleEntityChangedEvent deleted(Long id) {
+        return new SampleEntityChangedEvent(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,205 @@
+package rest.skeleton.spring.boot.service;
+
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted trigram index over name and description, used when the database has no text search
+ * indexes (H2). Text is normalized (lower case, accents stripped) and split into words; each word is padded
+ * like {@code pg_trgm} does ({@code "  word "}) and cut into trigrams.
+ *
+ * A field matches when it contains at least {@code minSimilarity} of the query's trigrams. By the pigeonhole
+ * principle such a field shares one of the query's {@code n - ceil(minSimilarity * n) + 1} rarest trigrams, so
+ * only those posting lists are read (prefix filtering), which keeps common trigrams from dominating the cost.
+ * Score = name coverage + 0.5 * description coverage.
+ *
+ * Writers are serialized; readers are lock-free and score against the immutable {@link Entry} of each candidate.
+ */
+final class SampleEntitySearchIndex {
+    private static final double DESCRIPTION_WEIGHT = 0.5;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<SampleEntitySearchHit> RANKING = Comparator
+            .comparingDouble(SampleEntitySearchHit::score).reversed()
+            .thenComparing(hit -> hit.view().id());
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final double minSimilarity;
+    private final int maxPostingsScanned;
+
+    /** Ids deleted while a rebuild scan is running; the scan must not resurrect them. */
+    private final Set<Long> deletedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    SampleEntitySearchIndex(double minSimilarity, int maxPostingsScanned) {
+        this.minSimilarity = minSimilarity;
+        this.maxPostingsScanned = maxPostingsScanned;
+    }
+
+    private record Entry(SampleEntityView view, Set<String> nameGrams, Set<String> descriptionGrams) {
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Adds or replaces a row. An older version than the one indexed is ignored (late or replayed event). */
+    synchronized void put(SampleEntityView view) {
+        Entry current = entries.get(view.id());
+        if (current != null && current.view().version() != null && view.version() != null
+                && current.view().version() > view.version()) {
+            return;
+        }
+        if (current != null) {
+            unlink(current);
+        }
+        Entry entry = new Entry(view, trigrams(view.name()), trigrams(view.description()));
+        link(entry);
+        entries.put(view.id(), entry);
+    }
+
+    synchronized void remove(Long id) {
+        if (rebuilding) {
+            deletedDuringRebuild.add(id);
+        }
+        Entry current = entries.remove(id);
+        if (current != null) {
+            unlink(current);
+        }
+    }
+
+    /** Starts a full reload: the index keeps serving (and accepting live writes) while rows are scanned in. */
+    synchronized void beginRebuild() {
+        rebuilding = true;
+        deletedDuringRebuild.clear();
+    }
+
+    /** Loads a scanned row unless a live write already indexed a newer version or deleted it. */
+    synchronized void putScanned(SampleEntityView view) {
+        if (deletedDuringRebuild.contains(view.id())) {
+            return;
+        }
+        put(view);
+    }
+
+    synchronized void endRebuild() {
+        rebuilding = false;
+        deletedDuringRebuild.clear();
+    }
+
+    /**
+     * @param afterScore score of the last hit of the previous page, or {@code null} for the first page
+     * @param afterId    id of the last hit of the previous page
+     * @return up to {@code limit} hits ordered by score descending, then id ascending
+     */
+    List<SampleEntitySearchHit> search(String query, Double afterScore, Long afterId, int limit) {
+        List<String> grams = new ArrayList<>(trigrams(query));
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        int required = Math.max(1, (int) Math.ceil(minSimilarity * grams.size()));
+        grams.sort(Comparator.comparingInt(gram -> postings.getOrDefault(gram, Set.of()).size()));
+
+        Set<Long> candidates = new HashSet<>();
+        int scanned = 0;
+        for (String gram : grams.subList(0, grams.size() - required + 1)) {
+            Set<Long> ids = postings.getOrDefault(gram, Set.of());
+            if (scanned + ids.size() > maxPostingsScanned) {
+                break;
+            }
+            scanned += ids.size();
+            candidates.addAll(ids);
+        }
+
+        Set<String> queryGrams = Set.copyOf(grams);
+        List<SampleEntitySearchHit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int nameShared = shared(queryGrams, entry.nameGrams());
+            int descriptionShared = shared(queryGrams, entry.descriptionGrams());
+            if (Math.max(nameShared, descriptionShared) < required) {
+                continue;
+            }
+            double score = ((double) nameShared + DESCRIPTION_WEIGHT * descriptionShared) / queryGrams.size();
+            if (afterScore != null && (score > afterScore || (score == afterScore && id <= afterId))) {
+                continue;
+            }
+            hits.add(new SampleEntitySearchHit(entry.view(), score));
+        }
+        hits.sort(RANKING);
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    static Set<String> trigrams(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> grams = new HashSet<>();
+        for (String word : NON_WORD.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return Collections.unmodifiableSet(grams);
+    }
+
+    private static int shared(Set<String> queryGrams, Set<String> fieldGrams) {
+        int shared = 0;
+        for (String gram : queryGrams) {
+            if (fieldGrams.contains(gram)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private void link(Entry entry) {
+        for (String gram : union(entry)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry.view().id());
+        }
+    }
+
+    private void unlink(Entry entry) {
+        for (String gram : union(entry)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(entry.view().id());
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> union(Entry entry) {
+        if (entry.descriptionGrams().isEmpty()) {
+            return entry.nameGrams();
+        }
+        Set<String> all = new HashSet<>(entry.nameGrams());
+        all.addAll(entry.descriptionGrams());
+        return all;
+    }
+}
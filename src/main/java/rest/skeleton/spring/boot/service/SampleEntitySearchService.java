@@ -0,0 +1,95 @@
+package rest.skeleton.spring.boot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rest.skeleton.spring.boot.config.SearchProperties;
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ranked text search over name and description. On PostgreSQL the database does the work (tsvector and
+ * trigram GIN indexes); elsewhere an in-process {@link SampleEntitySearchIndex} is loaded at startup and kept in
+ * sync from {@link SampleEntityChangedEvent}s after each commit.
+ */
+@Service
+public class SampleEntitySearchService {
+    private static final Logger log = LoggerFactory.getLogger(SampleEntitySearchService.class);
+
+    private final SampleEntityRepository repository;
+    private final SearchProperties properties;
+    /** {@code null} when the database searches natively. */
+    private final SampleEntitySearchIndex index;
+
+    public SampleEntitySearchService(SampleEntityRepository repository, SearchProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.index = repository.supportsRankedSearch()
+                ? null
+                : new SampleEntitySearchIndex(properties.getMinSimilarity(), properties.getMaxPostingsScanned());
+    }
+
+    /**
+     * Keyset-paginated search. One extra hit is read to determine {@link Slice#hasNext()}.
+     *
+     * @param afterScore score of the last hit of the previous page, or {@code null} for the first page
+     * @param afterId    id of the last hit of the previous page
+     * @throws IllegalArgumentException when the query is shorter or longer than allowed
+     */
+    @Transactional(readOnly = true)
+    public Slice<SampleEntitySearchHit> search(String query, Double afterScore, Long afterId, int size) {
+        String q = query == null ? "" : query.strip();
+        if (q.length() < properties.getMinQueryLength() || q.length() > properties.getMaxQueryLength()) {
+            throw new IllegalArgumentException("q must be between " + properties.getMinQueryLength()
+                    + " and " + properties.getMaxQueryLength() + " characters");
+        }
+        List<SampleEntitySearchHit> hits = index == null
+                ? repository.searchRanked(q, afterScore, afterId, size + 1, properties.getTimeout())
+                : index.search(q, afterScore, afterId, size + 1);
+        boolean hasNext = hits.size() > size;
+        return new SliceImpl<>(hasNext ? hits.subList(0, size) : hits, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * Loads the in-process index. Runs before the application reports readiness; writes committed while the
+     * scan is running are applied as usual and win over the scanned rows.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        if (index == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        index.beginRebuild();
+        try (Stream<SampleEntityView> rows = repository.streamAll()) {
+            rows.forEach(index::putScanned);
+        } finally {
+            index.endRebuild();
+        }
+        log.info("[SEARCH] In-process index loaded with {} rows in {} ms", index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(SampleEntityChangedEvent event) {
+        if (index == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> index.put(event.view());
+            case DELETED -> index.remove(event.id());
+        }
+    }
+}
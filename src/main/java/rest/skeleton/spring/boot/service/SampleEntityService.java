@@ -1,60 +1,211 @@
 package rest.skeleton.spring.boot.service;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rest.skeleton.spring.boot.config.CacheConfig;
+import rest.skeleton.spring.boot.config.EntityCacheProperties;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
 import rest.skeleton.spring.boot.repository.SampleEntityRepository;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class SampleEntityService {
     private final SampleEntityRepository repository;
+    private final ApplicationEventPublisher events;
+    private final SampleEntityBatchLoader batchLoader;
+    private final Set<Sort> queryCachedSorts;
 
-    public SampleEntityService(SampleEntityRepository repository) {
+    public SampleEntityService(SampleEntityRepository repository, ApplicationEventPublisher events,
+                               SampleEntityBatchLoader batchLoader, EntityCacheProperties cacheProperties) {
         this.repository = repository;
+        this.events = events;
+        this.batchLoader = batchLoader;
+        this.queryCachedSorts = cacheProperties.getHibernate().getListQuerySorts().stream()
+                .map(SampleEntityService::parseSort)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Transactional
     public SampleEntity create(SampleEntity entity) {
         entity.setId(null);
-        return repository.save(entity);
+        SampleEntity saved = repository.save(entity);
+        events.publishEvent(SampleEntityChangedEvent.created(SampleEntityView.of(saved)));
+        return saved;
     }
 
-    @Transactional(readOnly = true)
-    public SampleEntity getById(Long id) {
-        return repository.findById(id)
+    /**
+     * Read-through cached. Not {@code sync}: that would run the load inside Caffeine's map compute, holding a bin
+     * lock for the query and pinning virtual threads to their carrier. Concurrent misses are collapsed by the batch
+     * loader instead, which reads ids requested within {@code app.batch-read.coalesce-window} with one {@code IN}
+     * query. Updates put the committed view and deletes leave a tombstone, and the cache keeps the higher version
+     * ({@code VersionedEntityCache}), so a load that raced a write cannot bring back the older row. Returns an
+     * immutable projection, not a managed entity.
+     */
+    @Cacheable(cacheNames = CacheConfig.SAMPLE_ENTITIES, key = "#id")
+    public SampleEntityView getById(Long id) {
+        return batchLoader.load(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SampleEntity not found: id=" + id));
     }
 
+    /**
+     * Entities for {@code ids} in request order, read with one {@code IN} query per chunk. Unknown ids are
+     * skipped and repeated ids are returned once.
+     */
+    public List<SampleEntityView> getByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must contain at least one non-null id");
+        }
+        Map<Long, SampleEntityView> found = batchLoader.loadAll(ids);
+        return ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Pages in one of the configured common sort orders ({@code app.cache.hibernate.list-query-sorts}) are served
+     * through the Hibernate query cache; any other order goes to the database.
+     */
+    @Transactional(readOnly = true)
+    public Page<SampleEntityView> list(Pageable pageable) {
+        return isQueryCached(pageable)
+                ? repository.findCachedViewPage(pageable)
+                : repository.findViewPage(pageable);
+    }
+
+    /**
+     * Count-free variant of {@link #list(Pageable)}: no total is computed, only whether a next page exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SampleEntityView> listSlice(Pageable pageable) {
+        return isQueryCached(pageable)
+                ? repository.findCachedViewSlice(pageable)
+                : repository.findViewSlice(pageable);
+    }
+
+    private boolean isQueryCached(Pageable pageable) {
+        return queryCachedSorts.contains(pageable.getSort());
+    }
+
+    /** Parses {@code property[,asc|desc]}, or {@code unsorted}, as used in the {@code sort} request parameter. */
+    static Sort parseSort(String value) {
+        String[] parts = value.trim().split("\\s*,\\s*");
+        if (parts.length == 1 && parts[0].equalsIgnoreCase("unsorted")) {
+            return Sort.unsorted();
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+        return Sort.by(direction, parts[0]);
+    }
+
+    /**
+     * Keyset pagination in id order: returns up to {@code size} entities with an id greater than
+     * {@code afterId} (or from the start when {@code null}). One extra row is read to determine
+     * {@link Slice#hasNext()} without a count query.
+     */
     @Transactional(readOnly = true)
-    public Page<SampleEntity> list(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Slice<SampleEntityView> listAfter(Long afterId, int size) {
+        List<SampleEntityView> rows = repository.findViewsAfter(afterId == null ? 0L : afterId, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<SampleEntityView> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
     }
 
+    /**
+     * Replaces name and description in a single UPDATE (no prior SELECT or entity merge).
+     *
+     * @param expectedVersion version the caller based its change on (If-Match), or {@code null} for an
+     *                        unconditional update
+     */
+    @CachePut(cacheNames = CacheConfig.SAMPLE_ENTITIES, key = "#id")
     @Transactional
-    public SampleEntity updatePut(Long id, String name, String description) {
-        SampleEntity existing = getById(id);
-        existing.setName(name);
-        existing.setDescription(description);
-        return repository.save(existing);
+    public SampleEntityView updatePut(Long id, String name, String description, Long expectedVersion) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("name", name);
+        columns.put("description", description);
+        return applyUpdate(id, columns, expectedVersion);
     }
 
+    /**
+     * Updates only the fields that are present, in a single UPDATE. With no fields present nothing is written
+     * and the current row is returned (still subject to the version check).
+     */
+    @CachePut(cacheNames = CacheConfig.SAMPLE_ENTITIES, key = "#id")
     @Transactional
-    public SampleEntity updatePatch(Long id, Optional<String> name, Optional<String> description) {
-        SampleEntity existing = getById(id);
-        name.ifPresent(existing::setName);
-        description.ifPresent(existing::setDescription);
-        return repository.save(existing);
+    public SampleEntityView updatePatch(Long id, Optional<String> name, Optional<String> description,
+                                        Long expectedVersion) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        name.ifPresent(value -> columns.put("name", value));
+        description.ifPresent(value -> columns.put("description", value));
+        return applyUpdate(id, columns, expectedVersion);
     }
 
+    private SampleEntityView applyUpdate(Long id, Map<String, Object> columns, Long expectedVersion) {
+        if (columns.isEmpty()) {
+            SampleEntityView current = repository.findViewById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("SampleEntity not found: id=" + id));
+            checkVersion(id, current.version(), expectedVersion);
+            return current;
+        }
+        SampleEntityView updated = repository.updateColumns(id, columns, expectedVersion)
+                .orElseThrow(() -> writeMissed(id, expectedVersion));
+        events.publishEvent(SampleEntityChangedEvent.updated(updated));
+        return updated;
+    }
+
+    /**
+     * No row matched the UPDATE/DELETE: either the id does not exist or, with a version guard, another writer
+     * got there first. Only this failure path pays for the extra lookup.
+     */
+    private RuntimeException writeMissed(Long id, Long expectedVersion) {
+        if (expectedVersion != null) {
+            Optional<Long> current = repository.findVersionById(id);
+            if (current.isPresent()) {
+                return preconditionFailed(id, current.get(), expectedVersion);
+            }
+        }
+        return new ResourceNotFoundException("SampleEntity not found: id=" + id);
+    }
+
+    /**
+     * One {@code DELETE ... WHERE id = ? [AND version = ?]}; the affected row count decides between success,
+     * 404 and 412.
+     */
+    @CacheEvict(cacheNames = CacheConfig.SAMPLE_ENTITIES, key = "#id")
     @Transactional
-    public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("SampleEntity not found: id=" + id);
+    public void delete(Long id, Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? repository.deleteRowById(id)
+                : repository.deleteRowByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            throw writeMissed(id, expectedVersion);
+        }
+        events.publishEvent(SampleEntityChangedEvent.deleted(id));
+    }
+
+    private static void checkVersion(Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw preconditionFailed(id, currentVersion, expectedVersion);
         }
-        repository.deleteById(id);
+    }
+
+    private static PreconditionFailedException preconditionFailed(Long id, Long currentVersion, Long expectedVersion) {
+        return new PreconditionFailedException("SampleEntity id=" + id
+                + " is at version " + currentVersion + ", not " + expectedVersion);
     }
 }
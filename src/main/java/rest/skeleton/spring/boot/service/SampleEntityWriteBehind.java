@@ -0,0 +1,323 @@
+package rest.skeleton.spring.boot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rest.skeleton.spring.boot.config.WriteBehindProperties;
+import rest.skeleton.spring.boot.domain.AsyncCreate;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.repository.AsyncCreateRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for async creates ({@code Prefer: respond-async}). Accepted entities wait in a bounded queue; a
+ * single flusher thread takes what is queued as one group (up to {@code max-batch-size}, waiting at most
+ * {@code max-delay} for the group to fill) and writes it through {@link SampleEntityBulkService#createAll}, i.e.
+ * in chunk transactions with batched INSERTs instead of one transaction and commit per request.
+ * <p>
+ * Acknowledgement is durable: {@link #submit(SampleEntity)} returns only after the create's outcome was committed.
+ * A created entity's outcome row is inserted in its chunk transaction, so it exists exactly when the entity does;
+ * a failed create's outcome is inserted after its chunk rolled back. The status URL reads these rows, so it answers
+ * from any instance and after a restart until {@code status-retention} has passed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.write-behind", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SampleEntityWriteBehind implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SampleEntityWriteBehind.class);
+
+    private final SampleEntityBulkService bulkService;
+    private final AsyncCreateRepository outcomes;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindProperties properties;
+    private final BlockingQueue<Pending> queue;
+    private final Timer flushTimer;
+    private final Timer acknowledgeTimer;
+    private final DistributionSummary groupSizes;
+    private final Counter rejected;
+
+    private volatile ExecutorService executor;
+    private volatile ScheduledExecutorService purger;
+    private volatile boolean accepting;
+
+    public SampleEntityWriteBehind(SampleEntityBulkService bulkService, AsyncCreateRepository outcomes,
+                                   PlatformTransactionManager transactionManager, WriteBehindProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.bulkService = bulkService;
+        this.outcomes = outcomes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        Gauge.builder("writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Async creates accepted but not yet written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("writebehind.flush")
+                .description("Duration of writing one group of queued creates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acknowledgeTimer = Timer.builder("writebehind.acknowledge")
+                .description("Time from accepting an async create until its outcome is committed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("writebehind.flush.size")
+                .description("Creates written per group")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("writebehind.rejected")
+                .description("Async creates rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code entity} for the next group and waits until the group's transactions have ended and the
+     * create's outcome is committed.
+     *
+     * @return token identifying the create at its status URL
+     * @throws WriteBehindQueueFullException when the queue is full or the application is shutting down
+     */
+    public String submit(SampleEntity entity) {
+        if (!accepting) {
+            throw new WriteBehindQueueFullException("Async creates are not accepted while shutting down");
+        }
+        Pending pending = new Pending(UUID.randomUUID().toString(), entity, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            throw new WriteBehindQueueFullException("Write-behind queue is full (" + properties.getQueueCapacity() + ")");
+        }
+        // Queued after the flusher drained for shutdown: nobody would take it any more
+        if (!accepting && queue.remove(pending)) {
+            throw new WriteBehindQueueFullException("Async creates are not accepted while shutting down");
+        }
+        try {
+            pending.recorded().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return pending.token();
+    }
+
+    /** Committed outcome of the create behind {@code token}; empty when unknown or no longer retained. */
+    public Optional<AsyncCreateStatus> status(String token) {
+        Instant now = Instant.now();
+        return outcomes.findById(token)
+                .filter(outcome -> outcome.getExpiresAt().isAfter(now))
+                .map(outcome -> outcome.getEntityId() != null
+                        ? AsyncCreateStatus.of(BulkWriteResult.created(outcome.getEntityId()))
+                        : AsyncCreateStatus.of(BulkWriteResult.failed(outcome.getError())));
+    }
+
+    /** Deletes expired outcomes in bounded batches. */
+    long purgeExpired() {
+        Instant now = Instant.now();
+        int batchSize = Math.max(1, properties.getMaxBatchSize());
+        long purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<String> tokens = outcomes.findExpiredTokens(now, Limit.of(batchSize));
+                return tokens.isEmpty() ? 0 : outcomes.deleteRowsByTokenIn(tokens);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        if (purged > 0) {
+            log.info("[WRITE-BEHIND] Purged {} expired outcomes", purged);
+        }
+        return purged;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        accepting = true;
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "write-behind-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.execute(this::flushLoop);
+        long interval = properties.getPurgeInterval().toMillis();
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "write-behind-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (RuntimeException e) {
+                log.warn("[WRITE-BEHIND] Purge failed: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        accepting = false;
+        purger.shutdownNow();
+        purger = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        List<Pending> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (!abandoned.isEmpty()) {
+            // Nothing was written for these, so their callers get 503 and can retry elsewhere
+            log.warn("[WRITE-BEHIND] {} accepted creates were not written before shutdown", abandoned.size());
+            abandoned.forEach(pending -> pending.recorded().completeExceptionally(
+                    new WriteBehindQueueFullException("Async create was not written before shutdown")));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before and stop after the web server, so requests in flight during a graceful shutdown are still
+        // accepted and then drained
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        int maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        List<Pending> group = new ArrayList<>(maxBatchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group, maxBatchSize);
+            } catch (InterruptedException e) {
+                // Forced shutdown: write what was already taken from the queue, then stop
+                Thread.currentThread().interrupt();
+            }
+            if (!group.isEmpty()) {
+                flush(group);
+                group.clear();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    /** Adds queued creates to {@code group}, waiting up to {@code max-delay} for late arrivals. */
+    private void fill(List<Pending> group, int maxBatchSize) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (group.size() < maxBatchSize) {
+            if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void flush(List<Pending> group) {
+        long start = System.nanoTime();
+        Instant createdAt = Instant.now();
+        Instant expiresAt = createdAt.plus(properties.getStatusRetention());
+        try {
+            List<BulkWriteResult> results;
+            try {
+                results = bulkService.createAll(group.stream().map(Pending::entity).toList(), (from, ids) -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        outcomes.save(AsyncCreate.created(group.get(from + i).token(), ids.get(i), createdAt, expiresAt));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("[WRITE-BEHIND] Group of {} creates failed: {}", group.size(), e.getMessage());
+                results = Collections.nCopies(group.size(),
+                        BulkWriteResult.failed("group failed: " + e.getClass().getSimpleName()));
+            }
+            recordFailures(group, results, createdAt, expiresAt);
+            long end = System.nanoTime();
+            flushTimer.record(end - start, TimeUnit.NANOSECONDS);
+            groupSizes.record(group.size());
+            for (Pending pending : group) {
+                if (pending.recorded().complete(null)) {
+                    acknowledgeTimer.record(end - pending.acceptedAt(), TimeUnit.NANOSECONDS);
+                }
+            }
+            log.debug("[WRITE-BEHIND] Wrote {} creates in {} ms", group.size(), TimeUnit.NANOSECONDS.toMillis(end - start));
+        } finally {
+            // Never leave a caller waiting, whatever went wrong above
+            IllegalStateException aborted = new IllegalStateException("Async create outcome was not recorded");
+            group.forEach(pending -> pending.recorded().completeExceptionally(aborted));
+        }
+    }
+
+    /** Stores the outcome of every failed create of the group; their callers fail when that is not possible. */
+    private void recordFailures(List<Pending> group, List<BulkWriteResult> results, Instant createdAt, Instant expiresAt) {
+        List<AsyncCreate> failures = new ArrayList<>();
+        List<Pending> failed = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+            if (!results.get(i).isCreated()) {
+                failures.add(AsyncCreate.failed(group.get(i).token(), results.get(i).error(), createdAt, expiresAt));
+                failed.add(group.get(i));
+            }
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> outcomes.saveAll(failures));
+        } catch (RuntimeException e) {
+            log.warn("[WRITE-BEHIND] Could not record {} failed creates: {}", failures.size(), e.getMessage());
+            failed.forEach(pending -> pending.recorded().completeExceptionally(e));
+        }
+    }
+
+    private record Pending(String token, SampleEntity entity, long acceptedAt, CompletableFuture<Void> recorded) {
+    }
+}
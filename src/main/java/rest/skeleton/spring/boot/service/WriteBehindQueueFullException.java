@@ -0,0 +1,10 @@
+package rest.skeleton.spring.boot.service;
+
+/**
+ * Thrown when an async create cannot be accepted because the write-behind queue is full or shutting down.
+ */
+public class WriteBehindQueueFullException extends RuntimeException {
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+}
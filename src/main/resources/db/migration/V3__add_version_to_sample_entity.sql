@@ -0,0 +1,3 @@
+-- Flyway migration: optimistic-locking version column for sample_entity (H2/PostgreSQL compatible)
+-- Backs strong ETags and If-Match preconditions on the API; existing rows start at version 0.
+ALTER TABLE sample_entity ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- Supports created_at range predicates (bulk delete by creation time)
+CREATE INDEX IF NOT EXISTS idx_sample_entity_created_at ON sample_entity(created_at);
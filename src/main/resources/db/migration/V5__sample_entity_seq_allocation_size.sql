@@ -0,0 +1,19 @@
+-- Flyway migration: make the sample_entity_seq increment configurable (H2/PostgreSQL compatible)
+-- Hibernate now uses the pooled-lo optimizer: one nextval reserves the block [value, value + increment),
+-- so a transaction inserting many rows needs one sequence round-trip per block and can batch its INSERTs.
+-- The increment is the id allocation size. It comes from the Flyway placeholder
+-- spring.flyway.placeholders.sample_entity_id_allocation_size (default 50 in application.yml), and Hibernate
+-- adopts the database increment at startup (hibernate.id.sequence.increment_size_mismatch_strategy=fix).
+--
+-- Deploy this migration stop-the-world: shut down every instance of the previous release before the first
+-- instance of this one starts. Once no pooled instance is left, the switch is safe: pooled used ids up to the
+-- last sequence value, and pooled-lo only hands out ids from the next value onwards. While both run (a
+-- rolling deploy), their blocks overlap: pooled reserves (value - 50, value], pooled-lo [value, value + size),
+-- so after an old instance draws v and a new one v + 50, the old instance's next draw v + 100 covers
+-- v + 51 .. v + 100, which the new instance already holds. A one-off bump of the sequence cannot prevent this,
+-- because the two kinds of instance keep drawing from it alternately.
+--
+-- To change the size later, add a new ALTER SEQUENCE migration. Growing it is safe while old instances run
+-- (their smaller blocks stay inside the larger reserved ranges); shrinking it needs the same stop-the-world
+-- deploy.
+ALTER SEQUENCE sample_entity_seq INCREMENT BY ${sample_entity_id_allocation_size};
@@ -0,0 +1,22 @@
+-- Flyway migration: transactional outbox for sample_entity changes (H2/PostgreSQL compatible)
+-- Rows are inserted in the transaction that changes sample_entity. The relay later assigns feed_position,
+-- a gap-free sequence in publication order that consumers of GET /api/v1/sample-entities/changes resume from.
+-- Unpublished rows have feed_position NULL.
+-- The relay publishes pending rows in id order. Ids are drawn one per row (INCREMENT BY 1, no per-instance
+-- blocks), so successive changes to the same entity, serialized by its row lock, get increasing ids everywhere.
+CREATE SEQUENCE IF NOT EXISTS sample_entity_change_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS sample_entity_change (
+    id BIGINT PRIMARY KEY,
+    feed_position BIGINT,
+    change_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    entity_version BIGINT,
+    name VARCHAR(255),
+    description VARCHAR(1000),
+    entity_created_at TIMESTAMP,
+    changed_at TIMESTAMP NOT NULL
+);
+
+-- Unique: concurrent relays (several instances) cannot hand out the same position
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sample_entity_change_position ON sample_entity_change(feed_position);
@@ -0,0 +1,16 @@
+-- Flyway migration: responses of POST requests sent with an Idempotency-Key (H2/PostgreSQL compatible)
+-- record_key is a SHA-256 of the caller and the key. The row is inserted before the request runs and completed in
+-- the same transaction, so a concurrent duplicate blocks on the primary key until the first one commits.
+-- Rows are purged once expires_at has passed.
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    record_key VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    location VARCHAR(2048),
+    etag VARCHAR(255),
+    body VARCHAR(8000),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_expires_at ON idempotency_record(expires_at);
@@ -0,0 +1,12 @@
+-- Flyway migration: outcomes of async creates (Prefer: respond-async), read by the status URL (H2/PostgreSQL compatible)
+-- A created row is inserted in the chunk transaction that inserts the entity, so it exists exactly when the entity
+-- was committed; failed rows are inserted after their chunk rolled back. Rows are purged once expires_at has passed.
+CREATE TABLE IF NOT EXISTS async_create (
+    token VARCHAR(36) PRIMARY KEY,
+    entity_id BIGINT,
+    error VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_async_create_expires_at ON async_create(expires_at);
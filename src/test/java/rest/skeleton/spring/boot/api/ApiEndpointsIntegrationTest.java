@@ -47,7 +47,13 @@ class ApiEndpointsIntegrationTest {
         mockMvc.perform(get("/api/v1/sample-entities").param("page", "0").param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", not(empty())))
-                .andExpect(jsonPath("$.content[0].id", notNullValue()));
+                .andExpect(jsonPath("$.content[0].id", notNullValue()))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        // List with opt-in totals
+        mockMvc.perform(get("/api/v1/sample-entities").param("page", "0").param("size", "10").param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(1)));
 
         // PUT update
         String putJson = "{\n  \"name\": \"Alpha 2\",\n  \"description\": \"Updated\"\n}";
@@ -0,0 +1,77 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import rest.skeleton.spring.boot.domain.AsyncCreate;
+import rest.skeleton.spring.boot.repository.AsyncCreateRepository;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncCreateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AsyncCreateRepository outcomes;
+
+    @Test
+    void respondAsync_answersAfterTheCommit_andTheStoredOutcomeReportsTheEntity() throws Exception {
+        String location = mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Prefer", "return=minimal, respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Async-Created\",\"description\":\"queued\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("/api/v1/sample-entities/pending/")))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String token = location.substring(location.lastIndexOf('/') + 1);
+
+        // Committed before the 202 was sent, and stored where every instance can read it
+        AsyncCreate outcome = outcomes.findById(token).orElseThrow();
+        assertNotNull(outcome.getEntityId());
+        String body = mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("created"))
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(body, "$.id")).longValue();
+        assertEquals(outcome.getEntityId(), id);
+        mockMvc.perform(get("/api/v1/sample-entities/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Async-Created"))
+                .andExpect(jsonPath("$.description").value("queued"));
+    }
+
+    @Test
+    void respondAsync_invalidPayload_isRejectedBeforeQueueing() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"no name\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("validation_error"));
+    }
+
+    @Test
+    void unknownToken_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities/pending/{token}", "no-such-token"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("not_found"));
+    }
+}
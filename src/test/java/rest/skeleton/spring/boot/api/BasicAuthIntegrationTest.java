@@ -0,0 +1,109 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.security.enabled=true",
+        "app.security.jwt.enabled=true",
+        "app.security.jwt.acceptAnyToken=false",
+        "spring.security.user.name=basic-user",
+        "spring.security.user.password=basic-secret",
+        "spring.security.user.roles=USER"
+})
+class BasicAuthIntegrationTest {
+
+    private static final String CREATE_JSON = "{\"name\": \"Basic\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedBasicRequests_areServedFromCredentialCache() throws Exception {
+        double hitsBefore = cacheHits();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/sample-entities")
+                            .header("Authorization", basic("basic-user", "basic-secret"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(CREATE_JSON))
+                    .andExpect(status().isCreated());
+        }
+
+        assertThat(cacheHits() - hitsBefore).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void wrongPassword_isRejectedEveryTime() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Authorization", basic("basic-user", "basic-secret"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_JSON))
+                .andExpect(status().isCreated());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/sample-entities")
+                            .header("Authorization", basic("basic-user", "wrong"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(CREATE_JSON))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    void basicCredentials_canBeExchangedForJwt_butTokensCannot() throws Exception {
+        var exchanged = mockMvc.perform(post("/api/v1/auth/exchange")
+                        .header("Authorization", basic("basic-user", "basic-secret")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andReturn();
+        String token = JsonPath.read(exchanged.getResponse().getContentAsString(), "$.token");
+
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/auth/exchange").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value("unauthorized"));
+
+        mockMvc.perform(post("/api/v1/auth/exchange"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private double cacheHits() {
+        var counter = meterRegistry.find("cache.gets")
+                .tag("cache", "basicVerifiedCredentials")
+                .tag("result", "hit")
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        // Small chunks so a short request still spans several transactions
+        "app.bulk.chunk-size=2",
+        "app.bulk.max-items=5"
+})
+class BatchCreateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void batchCreate_reportsPerItemResults_acrossChunks() throws Exception {
+        String payload = """
+                [
+                    {"name": "Batch-1", "description": "one"},
+                    {"description": "missing name"},
+                    {"name": "Batch-3"},
+                    {"name": "Batch-4", "description": "four"}
+                ]
+                """;
+
+        var result = mockMvc.perform(post("/api/v1/sample-entities:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("created"))
+                .andExpect(jsonPath("$.results[0].id", notNullValue()))
+                .andExpect(jsonPath("$.results[1].status").value("invalid"))
+                .andExpect(jsonPath("$.results[1].errors.name", notNullValue()))
+                .andExpect(jsonPath("$.results[3].index").value(3))
+                .andExpect(jsonPath("$.results[3].status").value("created"))
+                .andReturn();
+
+        Number id = com.jayway.jsonpath.JsonPath.read(result.getResponse().getContentAsString(), "$.results[3].id");
+        mockMvc.perform(get("/api/v1/sample-entities/{id}", id.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Batch-4"));
+    }
+
+    @Test
+    void batchCreate_rejectsOversizedAndEmptyBatches() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+
+        String tooMany = "[" + "{\"name\":\"x\"},".repeat(5) + "{\"name\":\"x\"}]";
+        mockMvc.perform(post("/api/v1/sample-entities:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(tooMany))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+    }
+}
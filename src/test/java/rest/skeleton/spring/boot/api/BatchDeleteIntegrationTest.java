@@ -0,0 +1,113 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+import rest.skeleton.spring.boot.repository.SampleEntityChangeRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        // Small batches so a short request spans several DELETE statements/transactions
+        "app.bulk.chunk-size=2",
+        "app.bulk.max-items=5"
+})
+class BatchDeleteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SampleEntityChangeRepository changes;
+
+    @Test
+    void batchDelete_byIds_deletesAcrossBatches_andIgnoresUnknownIds() throws Exception {
+        List<Long> ids = createThree("ById");
+        // Warm the id cache so the test also covers eviction
+        mockMvc.perform(get("/api/v1/sample-entities/{id}", ids.get(0))).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/sample-entities:batchDelete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + ids.get(0) + ", " + ids.get(1) + ", " + ids.get(2) + ", 999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+
+        for (Long id : ids) {
+            mockMvc.perform(get("/api/v1/sample-entities/{id}", id)).andExpect(status().isNotFound());
+        }
+        // The outbox records the deleted rows only, not the unknown id
+        List<Long> deletedIds = changes.findAll().stream()
+                .filter(change -> change.getType() == SampleEntityChange.Type.DELETED)
+                .map(SampleEntityChange::getEntityId)
+                .toList();
+        assertTrue(deletedIds.containsAll(ids));
+        assertFalse(deletedIds.contains(999999L));
+    }
+
+    @Test
+    void batchDelete_byCreatedRange() throws Exception {
+        Instant from = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Long> ids = createThree("ByRange");
+        Instant before = Instant.now().plusSeconds(1);
+
+        mockMvc.perform(post("/api/v1/sample-entities:batchDelete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"createdFrom\": \"" + from + "\", \"createdBefore\": \"" + before + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", greaterThanOrEqualTo(3)));
+
+        for (Long id : ids) {
+            mockMvc.perform(get("/api/v1/sample-entities/{id}", id)).andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void batchDelete_rejectsAmbiguousOrEmptySelection() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities:batchDelete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+
+        mockMvc.perform(post("/api/v1/sample-entities:batchDelete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"createdFrom\": \"2025-01-01T00:00:00Z\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/sample-entities:batchDelete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2, 3, 4, 5, 6]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> createThree(String prefix) throws Exception {
+        var result = mockMvc.perform(post("/api/v1/sample-entities:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"" + prefix + "-1\"}, {\"name\": \"" + prefix + "-2\"}, {\"name\": \"" + prefix + "-3\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andReturn();
+        List<Number> ids = JsonPath.read(result.getResponse().getContentAsString(), "$.results[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.batch-read.max-ids=5",
+        // Small chunks so three ids span two queries
+        "app.batch-read.chunk-size=2"
+})
+class BatchGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getByIds_returnsFoundInRequestOrder_andListsUnknownIds() throws Exception {
+        List<Long> ids = createThree("Get");
+
+        mockMvc.perform(get("/api/v1/sample-entities")
+                        .param("ids", ids.get(2) + "," + ids.get(0) + ",999999," + ids.get(1) + "," + ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content[*].id", contains(ids.get(2).intValue(), ids.get(0).intValue(),
+                        ids.get(1).intValue())))
+                .andExpect(jsonPath("$.content[0].name").value("Get-2"))
+                .andExpect(jsonPath("$.notFound", contains(999999)));
+    }
+
+    @Test
+    void getByIds_matchingIfNoneMatch_returnsNotModified_untilAnEntityChanges() throws Exception {
+        List<Long> ids = createThree("Tag");
+        String query = ids.get(0) + "," + ids.get(1);
+        String etag = mockMvc.perform(get("/api/v1/sample-entities").param("ids", query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("ids", query).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/v1/sample-entities/{id}", ids.get(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Tag-changed\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/sample-entities").param("ids", query).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[1].name").value("Tag-changed"));
+    }
+
+    @Test
+    void batchGet_readsIdsFromTheBody() throws Exception {
+        List<Long> ids = createThree("Post");
+
+        mockMvc.perform(post("/api/v1/sample-entities:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + ids.get(1) + ", " + ids.get(0) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(ids.get(1).intValue(), ids.get(0).intValue())))
+                .andExpect(jsonPath("$.notFound").isEmpty());
+    }
+
+    @Test
+    void emptyOrOversizedIdLists_areRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("ids", "1,2,3,4,5,6"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+    }
+
+    private List<Long> createThree(String prefix) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String body = mockMvc.perform(post("/api/v1/sample-entities")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\": \"" + prefix + "-" + i + "\"}"))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(((Number) JsonPath.read(body, "$.id")).longValue());
+        }
+        return ids;
+    }
+}
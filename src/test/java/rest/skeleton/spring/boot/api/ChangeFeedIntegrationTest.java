@@ -0,0 +1,172 @@
+package rest.skeleton.spring.boot.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.changes.relay-interval=50ms",
+        "app.changes.heartbeat-interval=500ms"
+})
+class ChangeFeedIntegrationTest {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writes_appearInCommitOrder_andTheFeedResumesFromAnyCursor() throws Exception {
+        String start = drain();
+        long id = create("Feed-Created");
+        mockMvc.perform(patch("/api/v1/sample-entities/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Feed-Patched\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/sample-entities/{id}", id)).andExpect(status().isNoContent());
+
+        List<JsonNode> changes = collect(id, start, 3);
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"), types(changes));
+        assertEquals("Feed-Created", changes.get(0).path("item").path("name").asText());
+        assertEquals(0, changes.get(0).path("version").asLong());
+        assertEquals("Feed-Patched", changes.get(1).path("item").path("name").asText());
+        assertEquals(1, changes.get(1).path("version").asLong());
+        assertTrue(changes.get(2).path("item").isNull());
+
+        List<JsonNode> resumed = collect(id, changes.get(0).path("cursor").asText(), 2);
+        assertEquals(List.of("UPDATED", "DELETED"), types(resumed));
+    }
+
+    @Test
+    void longPoll_whenCaughtUp_waitsForTheNextChange() throws Exception {
+        String start = drain();
+        MvcResult pending = mockMvc.perform(get("/api/v1/sample-entities/changes")
+                        .param("after", start)
+                        .param("wait", "10")
+                        .accept(NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long id = create("Feed-Awaited");
+
+        pending.getAsyncResult(15_000);
+        assertEquals(200, pending.getResponse().getStatus());
+        assertTrue(pending.getResponse().getContentAsString().contains("\"id\":" + id + ","));
+    }
+
+    @Test
+    void eventStream_sendsChangesAsEvents_resumingFromLastEventId() throws Exception {
+        String start = drain();
+        long id = create("Feed-Streamed");
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/sample-entities/changes")
+                        .header("Last-Event-ID", start)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The stream stays open (until app.changes.stream-timeout); watch events arrive on the response
+        long deadline = System.currentTimeMillis() + 10_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains("\"id\":" + id + ",") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("\"id\":" + id + ","), "change event not streamed: " + body);
+        assertTrue(body.contains("event:change"));
+        assertTrue(body.startsWith("id:"));
+        assertTrue(stream.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    @Test
+    void invalidCursor_isRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities/changes").param("after", "not-a-cursor").accept(NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+    }
+
+    /** Reads the feed to its current end and returns the cursor to continue from. */
+    private String drain() throws Exception {
+        String cursor = "";
+        while (true) {
+            List<JsonNode> lines = poll(cursor, 0);
+            if (lines.isEmpty()) {
+                return cursor;
+            }
+            cursor = lines.get(lines.size() - 1).path("cursor").asText();
+        }
+    }
+
+    /** Follows the feed from {@code cursor} until {@code expected} changes for entity {@code id} were seen. */
+    private List<JsonNode> collect(long id, String cursor, int expected) throws Exception {
+        List<JsonNode> changes = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (changes.size() < expected && System.currentTimeMillis() < deadline) {
+            for (JsonNode line : poll(cursor, 5)) {
+                cursor = line.path("cursor").asText();
+                if (line.path("id").asLong() == id) {
+                    changes.add(line);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private List<JsonNode> poll(String cursor, int waitSeconds) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/sample-entities/changes")
+                        .param("after", cursor)
+                        .param("limit", "1000")
+                        .param("wait", String.valueOf(waitSeconds))
+                        .accept(NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult((waitSeconds + 5) * 1000L);
+        assertEquals(200, result.getResponse().getStatus());
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private long create(String name) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.id")).longValue();
+    }
+
+    private static List<String> types(List<JsonNode> changes) {
+        return changes.stream().map(change -> change.path("type").asText()).toList();
+    }
+}
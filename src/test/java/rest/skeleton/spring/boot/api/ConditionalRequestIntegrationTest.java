@@ -0,0 +1,83 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void etagLifecycle_conditionalGet_andIfMatchWrites() throws Exception {
+        var created = mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Tagged\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn();
+        String location = created.getResponse().getHeader("Location");
+        String id = location.substring(location.lastIndexOf('/') + 1);
+
+        // Conditional GET
+        mockMvc.perform(get("/api/v1/sample-entities/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+
+        // Update with the current tag succeeds and bumps the version
+        mockMvc.perform(put("/api/v1/sample-entities/{id}", id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Tagged 2\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        // Old tag no longer matches: GET returns the new representation, writes are rejected
+        mockMvc.perform(get("/api/v1/sample-entities/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Tagged 2"));
+        mockMvc.perform(patch("/api/v1/sample-entities/{id}", id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"lost update\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("precondition_failed"));
+        mockMvc.perform(delete("/api/v1/sample-entities/{id}", id).header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/v1/sample-entities/{id}", id).header("If-Match", "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void listEtag_changesWhenPageContentChanges() throws Exception {
+        var first = mockMvc.perform(get("/api/v1/sample-entities").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("size", "1000").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Changes the list\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("size", "1000").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+}
@@ -0,0 +1,57 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void export_streamsNdjsonAndCsv() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Export, \\\"quoted\\\"\", \"description\": \"row\"}"))
+                .andExpect(status().isCreated());
+
+        MvcResult ndjson = mockMvc.perform(get("/api/v1/sample-entities/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(startsWith("{")))
+                .andExpect(content().string(containsString("\"name\":\"Export, \\\"quoted\\\"\"")));
+
+        MvcResult csv = mockMvc.perform(get("/api/v1/sample-entities/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("id,name,description,createdAt\n")))
+                .andExpect(content().string(containsString(",\"Export, \"\"quoted\"\"\",row,")));
+    }
+
+    @Test
+    void export_unknownFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+    }
+}
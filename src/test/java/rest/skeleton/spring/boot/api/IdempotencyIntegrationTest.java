@@ -0,0 +1,128 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void repeatedKey_replaysTheFirstResponse_withoutCreatingAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String payload = "{\"name\":\"Idem-Once\",\"description\":\"first\"}";
+
+        MockHttpServletResponse first = create(key, payload);
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader("Idempotent-Replayed"));
+
+        MockHttpServletResponse second = create(key, payload);
+        assertEquals(201, second.getStatus());
+        assertEquals("true", second.getHeader("Idempotent-Replayed"));
+        assertEquals(first.getHeader(HttpHeaders.LOCATION), second.getHeader(HttpHeaders.LOCATION));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(idOf(first), idOf(second));
+        assertEquals((String) JsonPath.read(first.getContentAsString(), "$.createdAt"),
+                JsonPath.read(second.getContentAsString(), "$.createdAt"));
+
+        // A new key is a new request
+        assertNotEquals(idOf(first), idOf(create(UUID.randomUUID().toString(), payload)));
+    }
+
+    @Test
+    void concurrentDuplicates_areCoalescedIntoOneCreate() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String payload = "{\"name\":\"Idem-Concurrent\"}";
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<MockHttpServletResponse>> requests = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                requests.add(() -> create(key, payload));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<MockHttpServletResponse> response : pool.invokeAll(requests)) {
+                assertEquals(201, response.get().getStatus());
+                ids.add(idOf(response.get()));
+            }
+            assertEquals(1, ids.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyReusedForDifferentRequest_isRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        assertEquals(201, create(key, "{\"name\":\"Idem-Original\"}").getStatus());
+
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Idem-Changed\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("idempotency_key_mismatch"));
+    }
+
+    @Test
+    void failedRequest_isNotStored() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"no name\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(201, create(key, "{\"name\":\"Idem-AfterFailure\"}").getStatus());
+    }
+
+    @Test
+    void oversizedKey_isRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Idempotency-Key", "k".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Idem-TooLong\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+    }
+
+    private MockHttpServletResponse create(String key, String payload) throws Exception {
+        return mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andReturn().getResponse();
+    }
+
+    private static long idOf(MockHttpServletResponse response) throws Exception {
+        return ((Number) JsonPath.read(response.getContentAsString(), "$.id")).longValue();
+    }
+}
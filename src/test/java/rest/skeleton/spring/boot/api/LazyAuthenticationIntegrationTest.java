@@ -0,0 +1,119 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import rest.skeleton.spring.boot.config.JwtService;
+import rest.skeleton.spring.boot.config.SecurityProperties;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tokens are only verified when an authorization decision needs them: permitAll routes never touch the
+ * token, protected routes authenticate exactly as before. The verified-token cache is disabled so each
+ * verification is visible on the spy.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.security.enabled=true",
+        "app.security.jwt.enabled=true",
+        "app.security.jwt.acceptAnyToken=false",
+        "app.security.jwt.cache.enabled=false"
+})
+class LazyAuthenticationIntegrationTest {
+
+    private static final String CREATE_JSON = "{\"name\": \"Lazy\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private JwtService jwtService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.issueToken("lazy-user", List.of("ROLE_USER"));
+        clearInvocations(jwtService);
+    }
+
+    @Test
+    void publicReads_doNotParseBearerTokens() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        verify(jwtService, never()).validateAndParse(anyString());
+    }
+
+    @Test
+    void protectedRoutes_authenticateOncePerRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_JSON))
+                .andExpect(status().isCreated());
+
+        verify(jwtService, times(1)).validateAndParse(token);
+    }
+
+    @Test
+    void protectedRoutes_rejectMissingOrInvalidTokens() throws Exception {
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_JSON))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Authorization", "Bearer not-a-jwt")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_JSON))
+                .andExpect(status().isUnauthorized());
+
+        String otherIssuer = new JwtService(otherIssuerProperties()).issueToken("lazy-user", List.of("ROLE_USER"));
+        mockMvc.perform(delete("/api/v1/sample-entities/1")
+                        .header("Authorization", "Bearer " + otherIssuer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * MockMvc builds its own DispatcherServlet and ignores {@code spring.mvc.publish-request-handled-events};
+     * apply it like the servlet auto-configuration does for the real server.
+     */
+    @TestConfiguration
+    static class DispatcherServletSettings {
+        @Bean
+        MockMvcBuilderCustomizer publishRequestHandledEvents(WebMvcProperties webMvcProperties) {
+            return builder -> builder.addDispatcherServletCustomizer(
+                    servlet -> servlet.setPublishEvents(webMvcProperties.isPublishRequestHandledEvents()));
+        }
+    }
+
+    private static SecurityProperties otherIssuerProperties() {
+        SecurityProperties props = new SecurityProperties();
+        props.getJwt().setIssuer("someone-else");
+        return props;
+    }
+}
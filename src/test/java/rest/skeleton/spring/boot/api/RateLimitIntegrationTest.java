@@ -0,0 +1,152 @@
+package rest.skeleton.spring.boot.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import rest.skeleton.spring.boot.config.JwtService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.security.enabled=true",
+        "app.security.jwt.enabled=true",
+        "app.security.rate-limit.enabled=true",
+        // Effectively no refill during the test, so bursts are deterministic
+        "app.security.rate-limit.anonymous.capacity=2",
+        "app.security.rate-limit.anonymous.refill-per-second=1",
+        "app.security.rate-limit.authenticated.capacity=3",
+        "app.security.rate-limit.authenticated.refill-per-second=1",
+        "app.security.rate-limit.roles.ROLE_ADMIN.capacity=5",
+        "app.security.rate-limit.roles.ROLE_ADMIN.refill-per-second=1"
+})
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void anonymousCallers_areLimitedPerIp_with429AndRetryAfter() throws Exception {
+        String ip = "10.0.0.1";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/sample-entities").with(r -> { r.setRemoteAddr(ip); return r; }))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/v1/sample-entities").with(r -> { r.setRemoteAddr(ip); return r; }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("rate_limited"))
+                .andExpect(jsonPath("$.details.retryAfterSeconds").isNumber());
+
+        // Another IP has its own bucket
+        mockMvc.perform(get("/api/v1/sample-entities").with(r -> { r.setRemoteAddr("10.0.0.2"); return r; }))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("ratelimit.requests").tag("outcome", "rejected").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void authenticatedSubjects_useRoleLimits_independentOfIp() throws Exception {
+        String user = "Bearer " + jwtService.issueToken("limited-user", List.of("ROLE_USER"));
+        String admin = "Bearer " + jwtService.issueToken("limited-admin", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        // A protected route (unknown id, so 404 once admitted): the subject is authenticated for authorization
+        for (int i = 0; i < 3; i++) {
+            final int n = i;
+            mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", user)
+                            .with(r -> { r.setRemoteAddr("10.0.1." + n); return r; }))
+                    .andExpect(status().isNotFound());
+        }
+        mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", user))
+                .andExpect(status().isTooManyRequests());
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", admin))
+                    .andExpect(status().isNotFound());
+        }
+        mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", admin))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void publicReads_withAVerifiedToken_areLimitedPerSubject_withRoleLimits() throws Exception {
+        String user = "Bearer " + jwtService.issueToken("reader", List.of("ROLE_USER"));
+        String admin = "Bearer " + jwtService.issueToken("reader-admin", List.of("ROLE_USER", "ROLE_ADMIN"));
+        // A protected call verifies (and caches) each token; it takes the first token from the subject's bucket
+        mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", user))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/sample-entities/999999").header("Authorization", admin))
+                .andExpect(status().isNotFound());
+
+        // Reads from many IPs (e.g. behind a proxy) share the subject's bucket, not the anonymous per-IP one
+        for (int i = 0; i < 2; i++) {
+            final int n = i;
+            mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", user)
+                            .with(r -> { r.setRemoteAddr("10.0.2." + n); return r; }))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", user)
+                        .with(r -> { r.setRemoteAddr("10.0.2.9"); return r; }))
+                .andExpect(status().isTooManyRequests());
+
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", admin))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", admin))
+                .andExpect(status().isTooManyRequests());
+
+        // Anonymous callers on those IPs keep their own buckets
+        mockMvc.perform(get("/api/v1/sample-entities").with(r -> { r.setRemoteAddr("10.0.2.9"); return r; }))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void publicReads_withAnUnverifiedToken_areLimitedPerToken_atTheAnonymousLimit() throws Exception {
+        String token = "Bearer " + jwtService.issueToken("never-verified", List.of("ROLE_ADMIN"));
+        for (int i = 0; i < 2; i++) {
+            final int n = i;
+            mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", token)
+                            .with(r -> { r.setRemoteAddr("10.0.3." + n); return r; }))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/v1/sample-entities").header("Authorization", token)
+                        .with(r -> { r.setRemoteAddr("10.0.3.9"); return r; }))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/v1/sample-entities").with(r -> { r.setRemoteAddr("10.0.3.0"); return r; }))
+                .andExpect(status().isOk());
+    }
+
+    /** Applies {@code spring.mvc.publish-request-handled-events=false} so public reads leave tokens unverified. */
+    @TestConfiguration
+    static class DispatcherServletSettings {
+        @Bean
+        MockMvcBuilderCustomizer publishRequestHandledEvents(WebMvcProperties webMvcProperties) {
+            return builder -> builder.addDispatcherServletCustomizer(
+                    servlet -> servlet.setPublishEvents(webMvcProperties.isPublishRequestHandledEvents()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The probes stay reachable without credentials when security is on, and readiness only reports UP once the
+ * startup runners (including the database warm-up) have finished.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.security.enabled=true",
+        "app.security.jwt.enabled=true",
+        "app.database.warmup.enabled=true"
+})
+class ReadinessProbeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProbeBeforeWarmup beforeWarmup;
+
+    @Test
+    void readiness_isOutOfServiceBeforeWarmup_andUpAfterIt_withoutCredentials() throws Exception {
+        assertEquals(503, beforeWarmup.readiness.getResponse().getStatus());
+        assertTrue(beforeWarmup.readiness.getResponse().getContentAsString().contains("\"OUT_OF_SERVICE\""));
+
+        mockMvc.perform(get("/actuator/health/readiness").accept("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness").accept("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @TestConfiguration
+    static class ProbeBeforeWarmup {
+        private MvcResult readiness;
+
+        /** Runs ahead of the database check and warm-up runners, while the application is still starting. */
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        ApplicationRunner probeReadinessBeforeWarmup(ObjectProvider<MockMvc> mockMvc) {
+            return args -> readiness = mockMvc.getObject()
+                    .perform(get("/actuator/health/readiness").accept("application/json"))
+                    .andReturn();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package rest.skeleton.spring.boot.api;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * On H2 the search endpoint is served by the in-process index, which must follow committed writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void search_findsFuzzyMatches_andFollowsUpdatesAndDeletes() throws Exception {
+        String id = create("{\"name\": \"Quasar telescope\", \"description\": \"observatory grade\"}");
+        create("{\"name\": \"Mirror\", \"description\": \"spare part for the quasar telescope\"}");
+
+        // Typo still matches; the name match ranks first
+        mockMvc.perform(get("/api/v1/sample-entities/search").param("q", "quasr telescop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].item.id").value(Long.parseLong(id)))
+                .andExpect(jsonPath("$.content[0].score").isNumber());
+
+        mockMvc.perform(patch("/api/v1/sample-entities/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Nebula camera\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/sample-entities/search").param("q", "nebula"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].item.name").value("Nebula camera"));
+
+        mockMvc.perform(delete("/api/v1/sample-entities/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/sample-entities/search").param("q", "nebula"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    void search_pagesWithCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            create("{\"name\": \"Pulsarpage item " + i + "\"}");
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        String after = null;
+        do {
+            var request = get("/api/v1/sample-entities/search").param("q", "pulsarpage").param("size", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.addAll(JsonPath.read(body, "$.content[*].item.id"));
+            after = JsonPath.read(body, "$.nextCursor");
+        } while (after != null);
+
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void search_rejectsTooShortQueries_andForeignCursors() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities/search").param("q", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
+        // An id cursor from the list endpoint is not a search cursor
+        mockMvc.perform(get("/api/v1/sample-entities/search").param("q", "telescope").param("after", "aWQ6NDI"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String create(String json) throws Exception {
+        String location = mockMvc.perform(post("/api/v1/sample-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+}
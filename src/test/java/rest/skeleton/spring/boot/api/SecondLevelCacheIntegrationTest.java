@@ -0,0 +1,104 @@
+package rest.skeleton.spring.boot.api;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import rest.skeleton.spring.boot.config.CacheConfig;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.service.SampleEntityService;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    // One of the common sort orders configured in app.cache.hibernate.list-query-sorts
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private SampleEntityService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void queryCache_servesCommonSortOrders_andIsInvalidatedByServiceWrites() {
+        Long id = service.create(newEntity("QC-Original")).getId();
+
+        assertEquals("QC-Original", nameIn(service.listSlice(NEWEST_FIRST).getContent(), id));
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals("QC-Original", nameIn(service.listSlice(NEWEST_FIRST).getContent(), id));
+        assertTrue(statistics.getQueryCacheHitCount() > hits, "repeated page should come from the query cache");
+        assertTrue(statistics.getQueryRegionStatistics(CacheConfig.SAMPLE_ENTITY_LIST_REGION).getHitCount() > 0);
+
+        service.updatePatch(id, Optional.of("QC-Patched"), Optional.empty(), null);
+        assertEquals("QC-Patched", nameIn(service.listSlice(NEWEST_FIRST).getContent(), id));
+        assertEquals("QC-Patched", nameIn(service.list(NEWEST_FIRST).getContent(), id));
+
+        long total = service.list(NEWEST_FIRST).getTotalElements();
+        service.delete(id, null);
+        assertNull(nameIn(service.listSlice(NEWEST_FIRST).getContent(), id));
+        assertEquals(total - 1, service.list(NEWEST_FIRST).getTotalElements());
+    }
+
+    @Test
+    void queryCache_isNotUsedForOtherSortOrders() {
+        Pageable byNameDescending = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "name"));
+
+        long puts = statistics.getQueryCachePutCount();
+        long hits = statistics.getQueryCacheHitCount();
+        service.listSlice(byNameDescending);
+        service.listSlice(byNameDescending);
+
+        assertEquals(puts, statistics.getQueryCachePutCount());
+        assertEquals(hits, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void queryCacheStatistics_arePublishedAsMetrics() {
+        service.create(newEntity("QC-Metrics"));
+        service.listSlice(NEWEST_FIRST);
+        service.listSlice(NEWEST_FIRST);
+
+        FunctionCounter hits = meterRegistry.find("hibernate.cache.query.requests")
+                .tags("result", "hit")
+                .functionCounter();
+        assertNotNull(hits, "query cache hit counter should be registered");
+        assertTrue(hits.count() > 0);
+    }
+
+    private static SampleEntity newEntity(String name) {
+        SampleEntity entity = new SampleEntity();
+        entity.setName(name);
+        return entity;
+    }
+
+    private static String nameIn(List<SampleEntityView> views, Long id) {
+        return views.stream().filter(view -> view.id().equals(id)).map(SampleEntityView::name).findFirst().orElse(null);
+    }
+}
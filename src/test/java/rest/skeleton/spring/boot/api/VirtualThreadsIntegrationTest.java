@@ -0,0 +1,72 @@
+package rest.skeleton.spring.boot.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import rest.skeleton.spring.boot.config.ConnectionLimitingDataSource;
+import rest.skeleton.spring.boot.config.PinnedThreadMonitor;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void dataSource_isGuardedBySemaphoreSizedToThePool() {
+        ConnectionLimitingDataSource guard = assertInstanceOf(ConnectionLimitingDataSource.class, dataSource);
+        // Hikari default maximum-pool-size
+        assertEquals(10, guard.getMaxConcurrent());
+        assertEquals(10, guard.getAvailable());
+    }
+
+    @Test
+    void asyncWork_runsOnVirtualThreads() throws Exception {
+        assertTrue(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+
+    @Test
+    void requests_releaseTheirPermits() throws Exception {
+        ConnectionLimitingDataSource guard = (ConnectionLimitingDataSource) dataSource;
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(post("/api/v1/sample-entities")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"VT-" + i + "\"}"))
+                    .andExpect(status().isCreated());
+        }
+        // Background work (change relay, write-behind) may briefly hold a connection
+        long deadline = System.currentTimeMillis() + 5000;
+        while (guard.getAvailable() < guard.getMaxConcurrent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(guard.getMaxConcurrent(), guard.getAvailable());
+        assertTrue(pinnedThreadMonitor.isRunning());
+    }
+}
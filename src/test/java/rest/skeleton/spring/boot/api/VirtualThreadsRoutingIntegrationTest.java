@@ -0,0 +1,93 @@
+package rest.skeleton.spring.boot.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With read/write routing, the guard sits in front of each physical pool rather than the lazy proxy: a permit is
+ * only taken when a statement checks out a real connection, and only from the pool it is checked out of.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:mem:rest_skeleton_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[0].maximum-pool-size=3",
+        // No background checkouts (change relay polling, replica probes) while permits are counted
+        "app.changes.enabled=false",
+        "app.datasource.routing.health-check-interval=1h"
+})
+class VirtualThreadsRoutingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void eachPool_hasItsOwnGuard_sizedToThatPool() throws Exception {
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        awaitIdle();
+        assertEquals(4, available("primary"));
+        assertEquals(3, available("replica-0"));
+    }
+
+    @Test
+    void permits_areTakenOnPhysicalCheckout_fromThePoolThatServesIt() throws Exception {
+        awaitIdle();
+        try (Connection handle = dataSource.getConnection()) {
+            // The lazy proxy has not fetched a physical connection yet
+            assertEquals(4, available("primary"));
+            assertEquals(3, available("replica-0"));
+        }
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            jdbc.queryForObject("SELECT 1", Integer.class);
+            assertEquals(2, available("replica-0"));
+            assertEquals(4, available("primary"));
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbc.queryForObject("SELECT 1", Integer.class);
+            assertEquals(3, available("primary"));
+            assertEquals(3, available("replica-0"));
+        });
+
+        assertEquals(4, available("primary"));
+        assertEquals(3, available("replica-0"));
+    }
+
+    private double available(String pool) {
+        return meterRegistry.get("jdbc.connections.guard.available").tag("pool", pool).gauge().value();
+    }
+
+    /** Startup work (warm-up, write-behind recovery) may still be returning its connections. */
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((available("primary") < 4 || available("replica-0") < 3) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
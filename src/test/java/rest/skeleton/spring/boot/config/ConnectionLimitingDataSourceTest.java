@@ -0,0 +1,90 @@
+package rest.skeleton.spring.boot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final DriverManagerDataSource database =
+            new DriverManagerDataSource("jdbc:h2:mem:guard;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void permitsAreHeldUntilClose_andExhaustionTimesOut() throws Exception {
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(database, 2, Duration.ofMillis(50));
+
+        Connection first = guard.getConnection();
+        Connection second = guard.getConnection();
+        assertThat(guard.getAvailable()).isZero();
+        assertThatThrownBy(guard::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 connections in use");
+
+        first.close();
+        // Closing twice must not hand out an extra permit
+        first.close();
+        assertThat(guard.getAvailable()).isEqualTo(1);
+        try (Connection third = guard.getConnection()) {
+            assertThat(third.isValid(1)).isTrue();
+        }
+        second.close();
+        assertThat(guard.getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    void waitersAreAdmittedInOrder_asConnectionsAreReturned() throws Exception {
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(database, 1, Duration.ofSeconds(5));
+        ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Connection held = guard.getConnection();
+            List<Future<Boolean>> waiting = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                waiting.add(virtualThreads.submit(() -> {
+                    try (Connection connection = guard.getConnection()) {
+                        return connection.isValid(1);
+                    }
+                }));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (guard.getWaiting() < 100 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(guard.getWaiting()).isEqualTo(100);
+
+            held.close();
+            for (Future<Boolean> result : waiting) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+            assertThat(guard.getAvailable()).isEqualTo(1);
+        } finally {
+            virtualThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedCheckout_returnsThePermit() throws Exception {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("database down"));
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(failing, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(guard::getConnection).hasMessage("database down");
+        assertThatThrownBy(guard::getConnection).hasMessage("database down");
+        assertThat(guard.getAvailable()).isEqualTo(1);
+    }
+}
@@ -1,17 +1,30 @@
 package rest.skeleton.spring.boot.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationInfo;
 import org.flywaydb.core.api.MigrationInfoService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class DatabaseStartupVerifierTest {
@@ -37,6 +50,8 @@ class DatabaseStartupVerifierTest {
         var runner = verifier.databaseCheckRunner(ds, flyway);
 
         assertDoesNotThrow(() -> runner.run(new DefaultApplicationArguments(new String[]{})));
+        // The verification connection goes back to the pool
+        verify(conn).close();
     }
 
     @Test
@@ -69,4 +84,57 @@ class DatabaseStartupVerifierTest {
 
         assertThrows(Exception.class, () -> runner.run(new DefaultApplicationArguments(new String[]{})));
     }
+
+    @Test
+    void fillPool_opensMinimumIdleConnections_warmsEach_andReturnsThem() throws Exception {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setJdbcUrl("jdbc:h2:mem:warmup_pool;DB_CLOSE_DELAY=-1");
+            hikari.setUsername("sa");
+            hikari.setMinimumIdle(4);
+            hikari.setMaximumPoolSize(6);
+            Set<Connection> warmed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            DatabaseStartupVerifier.fillPool(hikari, () -> {
+                try (Connection connection = hikari.getConnection()) {
+                    // The physical connection behind Hikari's proxy
+                    warmed.add(connection.unwrap(Connection.class));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            var pool = hikari.getHikariPoolMXBean();
+            assertEquals(0, pool.getActiveConnections());
+            assertTrue(pool.getTotalConnections() >= 4);
+            assertEquals(4, warmed.size());
+        }
+    }
+
+    @Test
+    void fillPool_skipsNonHikariDataSources_andWarmsOnce() throws Exception {
+        DataSource ds = mock(DataSource.class);
+        Runnable warmUp = mock(Runnable.class);
+
+        DatabaseStartupVerifier.fillPool(ds, warmUp);
+
+        verify(ds, never()).getConnection();
+        verify(warmUp).run();
+    }
+
+    @Test
+    void warmStatements_runsHotStatements_andRollsBackWrites() {
+        SampleEntityRepository repository = mock(SampleEntityRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+
+        DatabaseStartupVerifier.warmStatements(repository, transactionManager, 3);
+
+        verify(repository, times(3)).findViewById(-1L);
+        verify(repository, times(3)).findViewsAfter(eq(0L), any(Limit.class));
+        verify(repository, times(3)).updateColumns(eq(-1L), anyMap(), isNull());
+        verify(repository, times(3)).deleteRowById(-1L);
+        // Read-only transactions for reads, and every write transaction is marked rollback-only
+        verify(transactionManager, times(3)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(3)).commit(argThat(TransactionStatus::isRollbackOnly));
+    }
 }
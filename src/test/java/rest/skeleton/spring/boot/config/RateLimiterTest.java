@@ -0,0 +1,73 @@
+package rest.skeleton.spring.boot.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final RateLimiter limiter = new RateLimiter(Duration.ofMinutes(1), 1_000, now::get);
+    private final SecurityProperties.Limit limit = new SecurityProperties.Limit(3, 2); // burst 3, 2/s
+
+    @Test
+    void burstUpToCapacity_thenRejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("k", limit).allowed());
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("k", limit);
+        assertFalse(rejected.allowed());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rejected.retryAfterNanos());
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("k", limit);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+        assertFalse(limiter.tryAcquire("k", limit).allowed());
+
+        // Long idle period: bucket is full again but never exceeds capacity
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        int admitted = 0;
+        while (limiter.tryAcquire("k", limit).allowed()) {
+            admitted++;
+        }
+        assertEquals(3, admitted);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", limit);
+        }
+        assertFalse(limiter.tryAcquire("a", limit).allowed());
+        assertTrue(limiter.tryAcquire("b", limit).allowed());
+    }
+
+    @Test
+    void concurrentCallers_neverExceedCapacity() throws Exception {
+        SecurityProperties.Limit slow = new SecurityProperties.Limit(100, 1);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            pool.submit(() -> {
+                if (limiter.tryAcquire("shared", slow).allowed()) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, admitted.get());
+    }
+}
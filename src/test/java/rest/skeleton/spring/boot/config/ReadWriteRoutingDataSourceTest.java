@@ -0,0 +1,164 @@
+package rest.skeleton.spring.boot.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each knows its own name, so a query shows
+ * where a transaction was routed.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String WHOAMI = "SELECT name FROM whoami";
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<String> caller = new AtomicReference<>("sub:alice");
+    private ReadWriteRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactions_goToReplica_othersToPrimary() {
+        routing = routing(List.of(replica), false);
+
+        assertThat(whoami(true)).isEqualTo("replica");
+        assertThat(whoami(false)).isEqualTo("primary");
+        // Outside any transaction (e.g. Flyway, startup checks) the primary is used
+        assertThat(new JdbcTemplate(new LazyConnectionDataSourceProxy(routing)).queryForObject(WHOAMI, String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void unavailableReplica_fallsBackToPrimary_untilProbeSucceeds() {
+        DataSource missing = unreachable();
+        routing = routing(List.of(missing), false);
+
+        assertThat(whoami(true)).isEqualTo("primary");
+        assertThat(routing.healthyReplicaCount()).isZero();
+
+        routing.checkReplicas();
+        assertThat(routing.healthyReplicaCount()).isZero();
+    }
+
+    @Test
+    void failedReplica_isSkipped_inRoundRobin() {
+        DataSource missing = unreachable();
+        routing = routing(List.of(missing, replica), false);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(whoami(true)).isEqualTo("replica");
+        }
+        assertThat(routing.healthyReplicaCount()).isEqualTo(1);
+
+        routing.checkReplicas();
+        assertThat(routing.healthyReplicaCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readYourWrites_pinsWriterToPrimary_forTheWindow() {
+        routing = routing(List.of(replica), true);
+
+        whoami(false);
+        assertThat(whoami(true)).isEqualTo("primary");
+
+        // Other callers are not affected
+        caller.set("sub:bob");
+        assertThat(whoami(true)).isEqualTo("replica");
+
+        caller.set("sub:alice");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(whoami(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void jpaTransactions_inOneOpenInViewSession_areRoutedEachOnTheirOwn() {
+        routing = routing(List.of(replica), false);
+        Map<String, Object> jpaProperties = new HashMap<>();
+        new DataSourceRoutingConfig().routingConnectionHandling().customize(jpaProperties);
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan();
+        factory.setJpaPropertyMap(jpaProperties);
+        factory.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factory.getObject();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        // What OpenEntityManagerInViewInterceptor does: one EntityManager for the whole request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertThat(whoami(transactionManager, entityManager, true)).isEqualTo("replica");
+            assertThat(whoami(transactionManager, entityManager, false)).isEqualTo("primary");
+            assertThat(whoami(transactionManager, entityManager, true)).isEqualTo("replica");
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            factory.destroy();
+        }
+    }
+
+    private ReadWriteRoutingDataSource routing(List<DataSource> replicas, boolean readYourWrites) {
+        DataSourceRoutingProperties.ReadYourWrites ryw = new DataSourceRoutingProperties.ReadYourWrites();
+        ryw.setEnabled(readYourWrites);
+        ryw.setWindow(Duration.ofSeconds(2));
+        return new ReadWriteRoutingDataSource(primary, replicas, Duration.ofSeconds(1), caller::get, ryw, nanos::get);
+    }
+
+    private String whoami(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(s -> new JdbcTemplate(dataSource).queryForObject(WHOAMI, String.class));
+    }
+
+    private static String whoami(JpaTransactionManager transactionManager, EntityManager entityManager,
+                                 boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(s -> (String) entityManager.createNativeQuery(WHOAMI).getSingleResult());
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))");
+        jdbc.update("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    /** Fails every getConnection, like a replica that is down. */
+    private static DataSource unreachable() {
+        return new DriverManagerDataSource("jdbc:unreachable:replica", "sa", "");
+    }
+}
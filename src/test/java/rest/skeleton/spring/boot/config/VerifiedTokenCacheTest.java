@@ -0,0 +1,101 @@
+package rest.skeleton.spring.boot.config;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private final SecurityProperties props = new SecurityProperties();
+    private final JwtService jwtService = spy(new JwtService(props));
+
+    @Test
+    void authenticate_verifiesOnce_thenServesSharedImmutableAuthentication() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100);
+        String token = jwtService.issueToken("alice", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        JwtAuthentication first = cache.authenticate(token);
+        JwtAuthentication second = cache.authenticate(token);
+
+        assertSame(first, second);
+        assertEquals("alice", first.getName());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                first.getAuthorities().stream().map(Object::toString).toList());
+        assertNull(first.getCredentials());
+        assertThrows(IllegalArgumentException.class, () -> first.setAuthenticated(false));
+        verify(jwtService, times(1)).validateAndParse(token);
+        assertEquals(1, cache.nativeCache().stats().hitCount());
+    }
+
+    @Test
+    void authenticate_doesNotCacheInvalidTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100);
+        String token = jwtService.issueToken("bob", List.of("ROLE_USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+
+        verify(jwtService, times(2)).validateAndParse(tampered);
+        assertEquals(0, cache.nativeCache().estimatedSize());
+    }
+
+    @Test
+    void authenticate_reverifiesOnceCachedTokenIsPastExpiry() {
+        MutableClock clock = new MutableClock(Instant.now());
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100, clock);
+        String token = jwtService.issueToken("carol", List.of("ROLE_USER"));
+
+        cache.authenticate(token);
+        clock.now = clock.now.plusSeconds(props.getJwt().getExpirationSeconds() + 1);
+        cache.authenticate(token);
+
+        verify(jwtService, times(2)).validateAndParse(token);
+    }
+
+    @Test
+    void cached_returnsOnlyVerifiedUnexpiredTokens_withoutVerifying() {
+        MutableClock clock = new MutableClock(Instant.now());
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100, clock);
+        String token = jwtService.issueToken("dave", List.of("ROLE_USER"));
+
+        assertNull(cache.cached(token));
+        verify(jwtService, never()).validateAndParse(token);
+
+        JwtAuthentication verified = cache.authenticate(token);
+        assertSame(verified, cache.cached(token));
+        clock.now = clock.now.plusSeconds(props.getJwt().getExpirationSeconds() + 1);
+        assertNull(cache.cached(token));
+        verify(jwtService, times(1)).validateAndParse(token);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
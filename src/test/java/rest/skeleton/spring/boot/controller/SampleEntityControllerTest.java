@@ -8,21 +8,32 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.service.PreconditionFailedException;
 import rest.skeleton.spring.boot.service.ResourceNotFoundException;
 import rest.skeleton.spring.boot.service.SampleEntityService;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -76,19 +87,94 @@ class SampleEntityControllerTest {
                 .andExpect(jsonPath("$.code").value("validation_error"));
     }
 
+    @Test
+    void create_preferRespondAsyncWithoutWriteBehind_isSynchronous() throws Exception {
+        SampleEntity created = new SampleEntity();
+        created.setId(2L);
+        created.setName("Sync");
+
+        when(service.create(any(SampleEntity.class))).thenReturn(created);
+
+        mockMvc.perform(post("/api/v1/sample-entities")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Sync\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Preference-Applied"))
+                .andExpect(jsonPath("$.id").value(2L));
+    }
+
+    @Test
+    void prefersAsync_parsesPreferenceList() {
+        assertTrue(SampleEntityController.prefersAsync("respond-async"));
+        assertTrue(SampleEntityController.prefersAsync("return=minimal, Respond-Async; foo=bar"));
+        assertFalse(SampleEntityController.prefersAsync("return=representation"));
+        assertFalse(SampleEntityController.prefersAsync(null));
+    }
+
     @Test
     void getById_exists_returnsOk() throws Exception {
-        SampleEntity entity = new SampleEntity();
-        entity.setId(1L);
-        entity.setName("Test");
+        SampleEntityView view = new SampleEntityView(1L, "Test", null, null, 0L);
 
-        when(service.getById(1L)).thenReturn(entity);
+        when(service.getById(1L)).thenReturn(view);
 
         mockMvc.perform(get("/api/v1/sample-entities/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void getById_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        SampleEntityView view = new SampleEntityView(1L, "Test", null, null, 3L);
+
+        when(service.getById(1L)).thenReturn(view);
+
+        mockMvc.perform(get("/api/v1/sample-entities/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/api/v1/sample-entities/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updatePatch_withIfMatch_passesExpectedVersion() throws Exception {
+        SampleEntityView updated = new SampleEntityView(1L, "Patched", null, null, 4L);
+
+        when(service.updatePatch(eq(1L), any(), any(), eq(3L))).thenReturn(updated);
+
+        mockMvc.perform(patch("/api/v1/sample-entities/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void delete_staleIfMatch_returnsPreconditionFailed() throws Exception {
+        doThrow(new PreconditionFailedException("stale")).when(service).delete(1L, 2L);
+
+        mockMvc.perform(delete("/api/v1/sample-entities/1").header("If-Match", "\"2\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("precondition_failed"));
+    }
+
+    @Test
+    void getByIds_returnsContentAndNotFound() throws Exception {
+        SampleEntityView first = new SampleEntityView(1L, "A", null, null, 0L);
+        when(service.getByIds(List.of(1L, 2L))).thenReturn(List.of(first));
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.notFound[0]").value(2L));
+        verify(service, never()).listSlice(any(Pageable.class));
+    }
+
     @Test
     void getById_notExists_returnsNotFound() throws Exception {
         when(service.getById(99L)).thenThrow(new ResourceNotFoundException("Not found"));
@@ -100,22 +186,65 @@ class SampleEntityControllerTest {
 
     @Test
     void list_returnsOk() throws Exception {
-        Page<SampleEntity> page = new PageImpl<>(Collections.emptyList());
-        when(service.list(any(Pageable.class))).thenReturn(page);
+        when(service.listSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), Pageable.ofSize(20), false));
 
         mockMvc.perform(get("/api/v1/sample-entities"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").isArray());
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(service, never()).list(any(Pageable.class));
+    }
+
+    @Test
+    void list_withTotal_includesTotals() throws Exception {
+        Page<SampleEntityView> page = new PageImpl<>(Collections.emptyList());
+        when(service.list(any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void listByCursor_firstPage_returnsNextCursor() throws Exception {
+        SampleEntityView first = new SampleEntityView(1L, "A", null, null, 0L);
+        SampleEntityView second = new SampleEntityView(2L, "B", null, null, 0L);
+        when(service.listAfter(isNull(), eq(2)))
+                .thenReturn(new SliceImpl<>(List.of(first, second), Pageable.ofSize(2), true));
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("after", "").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode(2L)));
+    }
+
+    @Test
+    void listByCursor_followsCursor() throws Exception {
+        when(service.listAfter(eq(2L), eq(20)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), Pageable.ofSize(20), false));
+
+        mockMvc.perform(get("/api/v1/sample-entities").param("after", KeysetCursor.encode(2L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void listByCursor_invalidCursor_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/sample-entities").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("invalid_argument"));
     }
 
     @Test
     void updatePut_valid_returnsOk() throws Exception {
-        SampleEntity updated = new SampleEntity();
-        updated.setId(1L);
-        updated.setName("Updated");
-        updated.setDescription("Desc");
+        SampleEntityView updated = new SampleEntityView(1L, "Updated", "Desc", null, 1L);
 
-        when(service.updatePut(eq(1L), eq("Updated"), eq("Desc"))).thenReturn(updated);
+        when(service.updatePut(eq(1L), eq("Updated"), eq("Desc"), isNull())).thenReturn(updated);
 
         String payload = """
                 {
@@ -154,7 +283,7 @@ class SampleEntityControllerTest {
     
     @Test
     void delete_notExists_returnsNotFound() throws Exception {
-        doThrow(new ResourceNotFoundException("Not found")).when(service).delete(99L);
+        doThrow(new ResourceNotFoundException("Not found")).when(service).delete(99L, null);
         
         mockMvc.perform(delete("/api/v1/sample-entities/99"))
                 .andExpect(status().isNotFound());
@@ -1,12 +1,23 @@
 package rest.skeleton.spring.boot.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,6 +28,9 @@ class SampleEntityRepositoryTest {
     @Autowired
     private SampleEntityRepository repository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void save_findById_and_pagination_work() {
         // save a few entities
@@ -39,4 +53,98 @@ class SampleEntityRepositoryTest {
         assertThat(page1.getContent()).hasSize(2);
         assertThat(page0.getTotalElements()).isGreaterThanOrEqualTo(5);
     }
+
+    @Test
+    void findViewsAfter_seeksInIdOrder() {
+        for (int i = 0; i < 5; i++) {
+            SampleEntity e = new SampleEntity();
+            e.setName("Seek-" + i);
+            repository.save(e);
+        }
+
+        List<SampleEntityView> firstTwo = repository.findViewsAfter(0L, Limit.of(2));
+        assertThat(firstTwo).hasSize(2);
+        assertThat(firstTwo.get(0).id()).isLessThan(firstTwo.get(1).id());
+
+        List<SampleEntityView> next = repository.findViewsAfter(firstTwo.get(1).id(), Limit.of(2));
+        assertThat(next).hasSize(2);
+        assertThat(next.get(0).id()).isGreaterThan(firstTwo.get(1).id());
+    }
+
+    @Test
+    void findViewSlice_returnsSliceWithoutTotals() {
+        for (int i = 0; i < 3; i++) {
+            SampleEntity e = new SampleEntity();
+            e.setName("Slice-" + i);
+            repository.save(e);
+        }
+
+        Slice<SampleEntityView> slice = repository.findViewSlice(PageRequest.of(0, 2, Sort.by("name")));
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void viewProjections_areNotManagedByThePersistenceContext() {
+        SampleEntity saved = new SampleEntity();
+        saved.setName("Projected");
+        saved.setDescription("Desc");
+        saved = repository.saveAndFlush(saved);
+        entityManager.clear();
+
+        SampleEntityView view = repository.findViewById(saved.getId()).orElseThrow();
+        assertThat(view.name()).isEqualTo("Projected");
+        assertThat(view.description()).isEqualTo("Desc");
+        assertThat(view.createdAt()).isNotNull();
+        assertThat(view.version()).isZero();
+        assertThat(entityManager.getEntityManager().contains(saved)).isFalse();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount()).isZero();
+
+        Page<SampleEntityView> page = repository.findViewPage(PageRequest.of(0, 10));
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void updateColumns_updatesPresentColumnsAndBumpsVersion() {
+        SampleEntity e = new SampleEntity();
+        e.setName("Before");
+        e.setDescription("Kept");
+        Long id = repository.saveAndFlush(e).getId();
+
+        SampleEntityView updated = repository.updateColumns(id, Map.of("name", "After"), 0L).orElseThrow();
+        assertThat(updated.name()).isEqualTo("After");
+        assertThat(updated.description()).isEqualTo("Kept");
+        assertThat(updated.version()).isEqualTo(1L);
+
+        // Stale version guard: no row matches
+        assertThat(repository.updateColumns(id, Map.of("name", "Lost"), 0L)).isEmpty();
+        assertThat(repository.findVersionById(id)).contains(1L);
+
+        Map<String, Object> clear = new HashMap<>();
+        clear.put("description", null);
+        assertThat(repository.updateColumns(id, clear, null).orElseThrow().description()).isNull();
+        assertThat(repository.updateColumns(-1L, Map.of("name", "Missing"), null)).isEmpty();
+    }
+
+    @Test
+    void ids_comeFromOnePooledBlock_perSequenceRoundTrip() {
+        Number increment = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT increment FROM information_schema.sequences WHERE sequence_name = 'SAMPLE_ENTITY_SEQ'")
+                .getSingleResult();
+        assertThat(increment.longValue()).isEqualTo(50L);
+
+        List<SampleEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SampleEntity e = new SampleEntity();
+            e.setName("Pooled-" + i);
+            rows.add(e);
+        }
+        List<SampleEntity> saved = repository.saveAll(rows);
+        entityManager.flush();
+
+        // Consecutive ids: the whole batch was allocated from the in-memory block, not one nextval per row
+        long firstId = saved.get(0).getId();
+        assertThat(saved).extracting(SampleEntity::getId).containsExactly(firstId, firstId + 1, firstId + 2);
+    }
 }
@@ -0,0 +1,156 @@
+package rest.skeleton.spring.boot.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import rest.skeleton.spring.boot.config.BatchReadProperties;
+import rest.skeleton.spring.boot.config.ReadWriteRoutingDataSource;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+import rest.skeleton.spring.boot.repository.SampleEntityRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SampleEntityBatchLoaderTest {
+
+    private final SampleEntityRepository repository = mock(SampleEntityRepository.class);
+    private final BatchReadProperties properties = new BatchReadProperties();
+    private final List<Collection<Long>> queries = new CopyOnWriteArrayList<>();
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<ReadWriteRoutingDataSource> routing = mock(ObjectProvider.class);
+    private final ReadWriteRoutingDataSource dataSource = mock(ReadWriteRoutingDataSource.class);
+    /** A query for this id signals {@link #slowQueryStarted} and blocks until {@link #releaseSlowQuery}. */
+    private volatile Long slowId;
+    private final CountDownLatch slowQueryStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSlowQuery = new CountDownLatch(1);
+
+    @Test
+    void loadAll_readsDistinctIdsInChunks() {
+        properties.setChunkSize(8);
+        SampleEntityBatchLoader loader = loader();
+
+        Map<Long, SampleEntityView> found = loader.loadAll(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 10L, 99L));
+
+        assertEquals(10, found.size());
+        assertFalse(found.containsKey(99L));
+        assertEquals(List.of(8, 3), queries.stream().map(Collection::size).toList());
+    }
+
+    @Test
+    void loadAll_overMaxIds_isRejected() {
+        properties.setMaxIds(2);
+        SampleEntityBatchLoader loader = loader();
+
+        assertThrows(IllegalArgumentException.class, () -> loader.loadAll(List.of(1L, 2L, 3L)));
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    void loadsArrivingWhileOneIsInFlight_areCoalescedIntoOneQuery() throws Exception {
+        int callers = 16;
+        // A full batch is sent at once, so the long window only matters if a caller were missing
+        properties.setCoalesceWindow(Duration.ofSeconds(10));
+        properties.setCoalesceMaxBatchSize(callers);
+        SampleEntityBatchLoader loader = loader();
+        ExecutorService pool = Executors.newFixedThreadPool(callers + 1);
+        try {
+            // The first load finds nothing in flight and queries at once; it stays in flight until released
+            slowId = 42L;
+            Future<Optional<SampleEntityView>> first = pool.submit(() -> loader.load(42L));
+            assertTrue(slowQueryStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<Optional<SampleEntityView>>> results = new ArrayList<>();
+            for (long id = 1; id <= callers; id++) {
+                long requested = id == callers ? 99L : id;
+                results.add(pool.submit(() -> loader.load(requested)));
+            }
+            for (int i = 0; i < callers - 1; i++) {
+                assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).orElseThrow().id());
+            }
+            assertTrue(results.get(callers - 1).get(5, TimeUnit.SECONDS).isEmpty());
+
+            releaseSlowQuery.countDown();
+            assertEquals(42L, first.get(5, TimeUnit.SECONDS).orElseThrow().id());
+            assertEquals(List.of(1, callers), queries.stream().map(Collection::size).toList());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void singleCaller_withNothingInFlight_doesNotWaitForTheWindow() {
+        properties.setCoalesceWindow(Duration.ofSeconds(10));
+        SampleEntityBatchLoader loader = loader();
+
+        for (long id = 1; id <= 3; id++) {
+            long requested = id;
+            long start = System.nanoTime();
+            assertEquals(requested, loader.load(requested).orElseThrow().id());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0,
+                    "a lone caller waited for the coalescing window");
+        }
+        assertEquals(List.of(List.of(1L), List.of(2L), List.of(3L)), queries);
+    }
+
+    @Test
+    void zeroWindow_queriesEachIdOnItsOwn() {
+        properties.setCoalesceWindow(Duration.ZERO);
+        SampleEntityBatchLoader loader = loader();
+
+        assertEquals(7L, loader.load(7L).orElseThrow().id());
+        assertEquals(List.of(List.of(7L)), queries);
+    }
+
+    @Test
+    void callerPinnedToThePrimary_queriesOnItsOwn_withoutWaitingForTheWindow() {
+        // A batch would wait ten seconds for more ids; the pinned caller must not join one
+        properties.setCoalesceWindow(Duration.ofSeconds(10));
+        when(dataSource.recentlyWrote()).thenReturn(true);
+        when(routing.getIfAvailable()).thenReturn(dataSource);
+        SampleEntityBatchLoader loader = loader();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(3L, loader.load(3L).orElseThrow().id()));
+        assertEquals(List.of(List.of(3L)), queries);
+    }
+
+    @Test
+    void failedQuery_failsEveryCallerOfTheBatch() {
+        properties.setCoalesceWindow(Duration.ofMillis(1));
+        SampleEntityBatchLoader loader = loader();
+        when(repository.findViewsByIdIn(anyCollection())).thenThrow(new IllegalStateException("db down"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+        assertEquals("db down", e.getMessage());
+    }
+
+    /** Ids up to 50 exist; every query is recorded. */
+    private SampleEntityBatchLoader loader() {
+        when(repository.findViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            queries.add(List.copyOf(ids));
+            if (slowId != null && ids.contains(slowId)) {
+                slowQueryStarted.countDown();
+                assertTrue(releaseSlowQuery.await(5, TimeUnit.SECONDS));
+            }
+            return ids.stream().distinct().filter(id -> id <= 50)
+                    .map(id -> new SampleEntityView(id, "name-" + id, null, null, 0L))
+                    .toList();
+        });
+        return new SampleEntityBatchLoader(repository, properties, mock(PlatformTransactionManager.class), routing);
+    }
+}
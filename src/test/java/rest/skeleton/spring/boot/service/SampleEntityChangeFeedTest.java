@@ -0,0 +1,78 @@
+package rest.skeleton.spring.boot.service;
+
+import org.junit.jupiter.api.Test;
+import rest.skeleton.spring.boot.domain.SampleEntityChange;
+import rest.skeleton.spring.boot.domain.SampleEntityChangeView;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleEntityChangeFeedTest {
+
+    @Test
+    void read_servesContiguousTail_andDefersOlderPositionsToTheTable() {
+        SampleEntityChangeFeed feed = new SampleEntityChangeFeed(3);
+        feed.append(changes(1, 5));
+
+        assertEquals(5, feed.latestPosition());
+        assertEquals(List.of(3L, 4L, 5L), positions(feed.read(2, 10)));
+        assertEquals(List.of(4L), positions(feed.read(3, 1)));
+        assertEquals(List.of(), positions(feed.read(5, 10)));
+        // Positions 1 and 2 were pushed out of the ring
+        assertTrue(feed.read(1, 10).isEmpty());
+    }
+
+    @Test
+    void append_withGap_dropsBufferedChanges() {
+        SampleEntityChangeFeed feed = new SampleEntityChangeFeed(10);
+        feed.append(changes(1, 2));
+        // Positions 3..4 were published by another instance's relay
+        feed.append(changes(5, 6));
+
+        assertTrue(feed.read(2, 10).isEmpty());
+        assertEquals(List.of(6L), positions(feed.read(5, 10)));
+    }
+
+    @Test
+    void advanceTo_movesLatestForward_andWakesWaiters() {
+        SampleEntityChangeFeed feed = new SampleEntityChangeFeed(10);
+        feed.append(changes(1, 2));
+        CompletableFuture<Void> waiting = feed.awaitAfter(2);
+        assertFalse(waiting.isDone());
+
+        feed.advanceTo(4);
+
+        assertTrue(waiting.isDone());
+        assertEquals(4, feed.latestPosition());
+        assertTrue(feed.read(2, 10).isEmpty(), "positions 3..4 are only in the table");
+        feed.advanceTo(3);
+        assertEquals(4, feed.latestPosition());
+    }
+
+    @Test
+    void awaitAfter_completesImmediatelyWhenBehind_orOnNextAppend() {
+        SampleEntityChangeFeed feed = new SampleEntityChangeFeed(10);
+        feed.append(changes(1, 1));
+
+        assertTrue(feed.awaitAfter(0).isDone());
+        CompletableFuture<Void> waiting = feed.awaitAfter(1);
+        assertFalse(waiting.isDone());
+        feed.append(changes(2, 2));
+        assertTrue(waiting.isDone());
+    }
+
+    private static List<SampleEntityChangeView> changes(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(p -> new SampleEntityChangeView(p, SampleEntityChange.Type.DELETED, p, null, Instant.EPOCH))
+                .toList();
+    }
+
+    private static List<Long> positions(Optional<List<SampleEntityChangeView>> changes) {
+        return changes.orElseThrow().stream().map(SampleEntityChangeView::position).toList();
+    }
+}
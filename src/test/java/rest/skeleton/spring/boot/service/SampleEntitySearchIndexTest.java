@@ -0,0 +1,90 @@
+package rest.skeleton.spring.boot.service;
+
+import org.junit.jupiter.api.Test;
+import rest.skeleton.spring.boot.domain.SampleEntitySearchHit;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampleEntitySearchIndexTest {
+
+    private final SampleEntitySearchIndex index = new SampleEntitySearchIndex(0.5, 1_000_000);
+
+    @Test
+    void matchesFuzzily_andRanksNameAboveDescription() {
+        index.put(view(1L, "Blue widget", null, 0L));
+        index.put(view(2L, "Gadget", "a widget-like gadget", 0L));
+        index.put(view(3L, "Sprocket", "unrelated", 0L));
+
+        List<SampleEntitySearchHit> hits = index.search("widgte", null, null, 10);
+
+        assertThat(hits).extracting(hit -> hit.view().id()).containsExactly(1L, 2L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void normalizesCaseAndAccents() {
+        index.put(view(1L, "Café Crème", null, 0L));
+
+        assertThat(index.search("CAFE creme", null, null, 10)).hasSize(1);
+    }
+
+    @Test
+    void keysetPages_coverAllHitsExactlyOnce() {
+        for (long id = 1; id <= 25; id++) {
+            index.put(view(id, "report " + (id % 3 == 0 ? "annual" : "monthly"), null, 0L));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        Double afterScore = null;
+        Long afterId = null;
+        while (true) {
+            List<SampleEntitySearchHit> page = index.search("annual report", afterScore, afterId, 4);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(hit -> seen.add(hit.view().id()));
+            SampleEntitySearchHit last = page.get(page.size() - 1);
+            afterScore = last.score();
+            afterId = last.view().id();
+        }
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+        // All "annual report" rows rank before the "monthly report" ones
+        assertThat(seen.subList(0, 8)).allMatch(id -> id % 3 == 0);
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemove_olderVersionsAreIgnored() {
+        index.put(view(1L, "Alpha", null, 1L));
+        index.put(view(1L, "Omega", null, 2L));
+        index.put(view(1L, "Alpha", null, 1L)); // late event for an older version
+
+        assertThat(index.search("alpha", null, null, 10)).isEmpty();
+        assertThat(index.search("omega", null, null, 10)).hasSize(1);
+
+        index.remove(1L);
+        assertThat(index.search("omega", null, null, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void rebuildScan_doesNotResurrectRowsDeletedMeanwhile() {
+        index.beginRebuild();
+        index.remove(7L);
+        index.putScanned(view(7L, "Deleted while scanning", null, 0L));
+        index.putScanned(view(8L, "Kept", null, 0L));
+        index.endRebuild();
+
+        assertThat(index.search("deleted scanning", null, null, 10)).isEmpty();
+        assertThat(index.search("kept", null, null, 10)).hasSize(1);
+    }
+
+    private static SampleEntityView view(Long id, String name, String description, Long version) {
+        return new SampleEntityView(id, name, description, Instant.EPOCH, version);
+    }
+}
@@ -0,0 +1,135 @@
+package rest.skeleton.spring.boot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import rest.skeleton.spring.boot.config.CacheConfig;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SampleEntityServiceCacheIntegrationTest {
+
+    @Autowired
+    private SampleEntityService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoSpyBean
+    private SampleEntityBatchLoader batchLoader;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private Cache<Object, Object> nativeCache;
+
+    @BeforeEach
+    void setUp() {
+        var decorator = (TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.SAMPLE_ENTITIES);
+        nativeCache = ((CaffeineCache) decorator.getTargetCache()).getNativeCache();
+        nativeCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getById_isServedFromCache_afterFirstLoad() {
+        SampleEntity created = service.create(newEntity("Cached"));
+        long hitsBefore = nativeCache.stats().hitCount();
+
+        service.getById(created.getId());
+        service.getById(created.getId());
+
+        assertEquals(hitsBefore + 1, nativeCache.stats().hitCount());
+        assertNotNull(nativeCache.getIfPresent(created.getId()));
+    }
+
+    @Test
+    void updatesPutTheCommittedView_andDeleteLeavesAMiss() {
+        SampleEntity created = service.create(newEntity("Before"));
+        service.getById(created.getId());
+
+        SampleEntityView put = service.updatePut(created.getId(), "After", "put", null);
+        assertEquals(put, nativeCache.getIfPresent(created.getId()));
+        assertEquals("After", service.getById(created.getId()).name());
+
+        service.updatePatch(created.getId(), Optional.of("Patched"), Optional.empty(), null);
+        assertEquals("Patched", service.getById(created.getId()).name());
+
+        service.delete(created.getId(), null);
+        assertThrows(ResourceNotFoundException.class, () -> service.getById(created.getId()));
+    }
+
+    @Test
+    void readThatLoadedBeforeAnUpdateCommitted_doesNotCacheTheOldRow() throws Exception {
+        SampleEntity created = service.create(newEntity("Old"));
+        Future<SampleEntityView> read = readPausedAfterLoading(created.getId(),
+                () -> service.updatePut(created.getId(), "New", null, null));
+
+        assertEquals("Old", read.get(5, TimeUnit.SECONDS).name());
+        SampleEntityView cached = service.getById(created.getId());
+        assertEquals("New", cached.name());
+        assertEquals(created.getVersion() + 1, cached.version());
+    }
+
+    @Test
+    void readThatLoadedBeforeADeleteCommitted_doesNotCacheTheDeletedRow() throws Exception {
+        SampleEntity created = service.create(newEntity("Doomed"));
+        Future<SampleEntityView> read = readPausedAfterLoading(created.getId(),
+                () -> service.delete(created.getId(), null));
+
+        assertEquals("Doomed", read.get(5, TimeUnit.SECONDS).name());
+        assertThrows(ResourceNotFoundException.class, () -> service.getById(created.getId()));
+    }
+
+    /**
+     * Starts a {@code getById} cache miss that loads the row, then waits until {@code write} has committed before
+     * the miss is stored: the interleaving of a slow read (or a lagging replica) with a concurrent write.
+     */
+    private Future<SampleEntityView> readPausedAfterLoading(Long id, Runnable write) throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Object row = invocation.callRealMethod();
+            loaded.countDown();
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            return row;
+        }).when(batchLoader).load(id);
+        Future<SampleEntityView> read = executor.submit(() -> service.getById(id));
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        write.run();
+        written.countDown();
+        read.get(5, TimeUnit.SECONDS);
+        doCallRealMethod().when(batchLoader).load(id);
+        return read;
+    }
+
+    private static SampleEntity newEntity(String name) {
+        SampleEntity e = new SampleEntity();
+        e.setName(name);
+        return e;
+    }
+}
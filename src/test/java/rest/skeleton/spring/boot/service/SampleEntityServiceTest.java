@@ -4,19 +4,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import rest.skeleton.spring.boot.config.EntityCacheProperties;
 import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.domain.SampleEntityView;
 import rest.skeleton.spring.boot.repository.SampleEntityRepository;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +40,15 @@ class SampleEntityServiceTest {
     @Mock
     private SampleEntityRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private SampleEntityBatchLoader batchLoader;
+
+    @Spy
+    private EntityCacheProperties cacheProperties = new EntityCacheProperties();
+
     @InjectMocks
     private SampleEntityService service;
 
@@ -44,82 +68,232 @@ class SampleEntityServiceTest {
         assertNotNull(result.getId());
         assertEquals("Test", result.getName());
         verify(repository).save(input);
+        verify(events).publishEvent(SampleEntityChangedEvent.created(SampleEntityView.of(saved)));
     }
 
     @Test
     void getById_whenExists_shouldReturnEntity() {
-        SampleEntity existing = new SampleEntity();
-        existing.setId(1L);
-        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        SampleEntityView existing = new SampleEntityView(1L, "Test", null, null, 0L);
+        when(batchLoader.load(1L)).thenReturn(Optional.of(existing));
 
-        SampleEntity result = service.getById(1L);
+        SampleEntityView result = service.getById(1L);
 
-        assertEquals(1L, result.getId());
+        assertEquals(1L, result.id());
+        verify(repository, never()).findById(any());
     }
 
     @Test
     void getById_whenNotExists_shouldThrowException() {
-        when(repository.findById(99L)).thenReturn(Optional.empty());
+        when(batchLoader.load(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> service.getById(99L));
     }
 
+    @Test
+    void getByIds_returnsFoundInRequestOrder_once() {
+        SampleEntityView first = new SampleEntityView(1L, "A", null, null, 0L);
+        SampleEntityView third = new SampleEntityView(3L, "C", null, null, 0L);
+        List<Long> ids = List.of(3L, 2L, 1L, 3L);
+        when(batchLoader.loadAll(ids)).thenReturn(Map.of(1L, first, 3L, third));
+
+        List<SampleEntityView> result = service.getByIds(ids);
+
+        assertEquals(List.of(third, first), result);
+    }
+
+    @Test
+    void getByIds_emptyOrNullIds_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.getByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.getByIds(Arrays.asList(1L, null)));
+        verifyNoInteractions(batchLoader);
+    }
+
     @Test
     void list_shouldReturnPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<SampleEntity> page = new PageImpl<>(Collections.emptyList());
-        when(repository.findAll(pageable)).thenReturn(page);
+        Page<SampleEntityView> page = new PageImpl<>(Collections.emptyList());
+        when(repository.findViewPage(pageable)).thenReturn(page);
 
-        Page<SampleEntity> result = service.list(pageable);
+        Page<SampleEntityView> result = service.list(pageable);
 
         assertEquals(0, result.getTotalElements());
     }
 
     @Test
-    void updatePut_shouldUpdateAllFields() {
-        SampleEntity existing = new SampleEntity();
-        existing.setId(1L);
-        existing.setName("Old");
-        existing.setDescription("Old Desc");
+    void listSlice_shouldNotRunCountQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.findViewSlice(pageable)).thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+        Slice<SampleEntityView> result = service.listSlice(pageable);
+
+        assertFalse(result.hasNext());
+        verify(repository, never()).findViewPage(any(Pageable.class));
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void list_inCommonSortOrder_shouldUseQueryCachedVariants() {
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.getHibernate().setListQuerySorts(List.of("unsorted", "createdAt, desc"));
+        SampleEntityService cachedService = new SampleEntityService(repository, events, batchLoader, properties);
+        Pageable unsorted = PageRequest.of(0, 10);
+        Pageable newestFirst = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable byName = PageRequest.of(0, 10, Sort.by("name"));
+        when(repository.findCachedViewSlice(unsorted)).thenReturn(new SliceImpl<>(List.of(), unsorted, false));
+        when(repository.findCachedViewPage(newestFirst)).thenReturn(new PageImpl<>(List.of(), newestFirst, 0));
+        when(repository.findViewSlice(byName)).thenReturn(new SliceImpl<>(List.of(), byName, false));
+
+        cachedService.listSlice(unsorted);
+        cachedService.list(newestFirst);
+        cachedService.listSlice(byName);
+
+        verify(repository).findCachedViewSlice(unsorted);
+        verify(repository).findCachedViewPage(newestFirst);
+        verify(repository).findViewSlice(byName);
+        verify(repository, never()).findCachedViewSlice(byName);
+    }
+
+    @Test
+    void parseSort_acceptsRequestParameterFormat() {
+        assertEquals(Sort.unsorted(), SampleEntityService.parseSort("unsorted"));
+        assertEquals(Sort.by("id"), SampleEntityService.parseSort("id"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt"), SampleEntityService.parseSort(" createdAt , DESC "));
+    }
+
+    @Test
+    void listAfter_shouldReadOneExtraRowToDetectNextPage() {
+        SampleEntityView a = new SampleEntityView(4L, "a", null, null, 0L);
+        SampleEntityView b = new SampleEntityView(5L, "b", null, null, 0L);
+        SampleEntityView c = new SampleEntityView(6L, "c", null, null, 0L);
+        when(repository.findViewsAfter(3L, Limit.of(3))).thenReturn(List.of(a, b, c));
+
+        Slice<SampleEntityView> result = service.listAfter(3L, 2);
+
+        assertEquals(2, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        assertEquals(5L, result.getContent().get(1).id());
+    }
+
+    @Test
+    void listAfter_withoutCursor_startsFromBeginning() {
+        when(repository.findViewsAfter(0L, Limit.of(11))).thenReturn(Collections.emptyList());
+
+        Slice<SampleEntityView> result = service.listAfter(null, 10);
+
+        assertFalse(result.hasNext());
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void updatePut_shouldUpdateAllFieldsInOneStatement() {
+        SampleEntityView updated = new SampleEntityView(1L, "New", "New Desc", null, 1L);
+        when(repository.updateColumns(eq(1L), anyMap(), isNull())).thenReturn(Optional.of(updated));
+
+        SampleEntityView result = service.updatePut(1L, "New", "New Desc", null);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(existing));
-        when(repository.save(any(SampleEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertEquals("New", result.name());
+        assertEquals("New Desc", result.description());
+        verify(repository).updateColumns(1L, Map.of("name", "New", "description", "New Desc"), null);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any(SampleEntity.class));
+        verify(events).publishEvent(SampleEntityChangedEvent.updated(updated));
+    }
+
+    @Test
+    void updatePut_withNullDescription_clearsIt() {
+        when(repository.updateColumns(eq(1L), anyMap(), isNull()))
+                .thenReturn(Optional.of(new SampleEntityView(1L, "New", null, null, 1L)));
 
-        SampleEntity result = service.updatePut(1L, "New", "New Desc");
+        service.updatePut(1L, "New", null, null);
 
-        assertEquals("New", result.getName());
-        assertEquals("New Desc", result.getDescription());
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("name", "New");
+        expected.put("description", null);
+        verify(repository).updateColumns(1L, expected, null);
     }
 
     @Test
     void updatePatch_shouldUpdateOnlyProvidedFields() {
-        SampleEntity existing = new SampleEntity();
-        existing.setId(1L);
-        existing.setName("Old");
-        existing.setDescription("Old Desc");
+        SampleEntityView updated = new SampleEntityView(1L, "New", "Old Desc", null, 1L);
+        when(repository.updateColumns(eq(1L), anyMap(), isNull())).thenReturn(Optional.of(updated));
+
+        SampleEntityView result = service.updatePatch(1L, Optional.of("New"), Optional.empty(), null);
+
+        assertEquals("New", result.name());
+        assertEquals("Old Desc", result.description());
+        verify(repository).updateColumns(1L, Map.of("name", "New"), null);
+    }
+
+    @Test
+    void updatePatch_withoutFields_returnsCurrentRowWithoutWriting() {
+        when(repository.findViewById(1L)).thenReturn(Optional.of(new SampleEntityView(1L, "Old", null, null, 2L)));
 
-        when(repository.findById(1L)).thenReturn(Optional.of(existing));
-        when(repository.save(any(SampleEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SampleEntityView result = service.updatePatch(1L, Optional.empty(), Optional.empty(), 2L);
 
-        SampleEntity result = service.updatePatch(1L, Optional.of("New"), Optional.empty());
+        assertEquals("Old", result.name());
+        verify(repository, never()).updateColumns(any(), anyMap(), any());
+        verifyNoInteractions(events);
+    }
 
-        assertEquals("New", result.getName());
-        assertEquals("Old Desc", result.getDescription());
+    @Test
+    void updatePut_whenNoRowMatches_shouldThrowNotFound() {
+        when(repository.updateColumns(eq(99L), anyMap(), isNull())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.updatePut(99L, "New", null, null));
+        verify(repository, never()).findVersionById(any());
     }
 
     @Test
-    void delete_whenExists_shouldDelete() {
-        when(repository.existsById(1L)).thenReturn(true);
-        
-        service.delete(1L);
-        
-        verify(repository).deleteById(1L);
+    void delete_whenExists_shouldDeleteInOneStatement() {
+        when(repository.deleteRowById(1L)).thenReturn(1);
+
+        service.delete(1L, null);
+
+        verify(repository).deleteRowById(1L);
+        verify(repository, never()).existsById(any());
+        verify(repository, never()).findById(any());
+        verify(events).publishEvent(SampleEntityChangedEvent.deleted(1L));
     }
 
     @Test
     void delete_whenNotExists_shouldThrowException() {
-        when(repository.existsById(99L)).thenReturn(false);
-        
-        assertThrows(ResourceNotFoundException.class, () -> service.delete(99L));
+        when(repository.deleteRowById(99L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.delete(99L, null));
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void updatePut_withStaleVersion_shouldThrowPreconditionFailed() {
+        when(repository.updateColumns(eq(1L), anyMap(), eq(1L))).thenReturn(Optional.empty());
+        when(repository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertThrows(PreconditionFailedException.class, () -> service.updatePut(1L, "New", null, 1L));
+    }
+
+    @Test
+    void updatePatch_withVersionOnMissingRow_shouldThrowNotFound() {
+        when(repository.updateColumns(eq(99L), anyMap(), eq(1L))).thenReturn(Optional.empty());
+        when(repository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.updatePatch(99L, Optional.of("New"), Optional.empty(), 1L));
+    }
+
+    @Test
+    void delete_withMatchingVersion_shouldDeleteGuardedRow() {
+        when(repository.deleteRowByIdAndVersion(1L, 2L)).thenReturn(1);
+
+        service.delete(1L, 2L);
+
+        verify(repository, never()).findVersionById(any());
+    }
+
+    @Test
+    void delete_withStaleVersion_shouldThrowPreconditionFailed() {
+        when(repository.deleteRowByIdAndVersion(1L, 1L)).thenReturn(0);
+        when(repository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertThrows(PreconditionFailedException.class, () -> service.delete(1L, 1L));
     }
 }
@@ -0,0 +1,186 @@
+package rest.skeleton.spring.boot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import rest.skeleton.spring.boot.config.WriteBehindProperties;
+import rest.skeleton.spring.boot.domain.AsyncCreate;
+import rest.skeleton.spring.boot.domain.SampleEntity;
+import rest.skeleton.spring.boot.repository.AsyncCreateRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SampleEntityWriteBehindTest {
+
+    private final SampleEntityBulkService bulkService = mock(SampleEntityBulkService.class);
+    private final AsyncCreateRepository outcomes = mock(AsyncCreateRepository.class);
+    private final Map<String, AsyncCreate> stored = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private SampleEntityWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        when(outcomes.save(any())).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(outcomes.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AsyncCreate> rows = invocation.getArgument(0);
+            rows.forEach(this::store);
+            return rows;
+        });
+        when(outcomes.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setQueueCapacity(2);
+        properties.setMaxDelay(Duration.ofMillis(1));
+        properties.setDrainTimeout(Duration.ofSeconds(5));
+        writeBehind = new SampleEntityWriteBehind(bulkService, outcomes, mock(PlatformTransactionManager.class),
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void submit_returnsOnceTheGroupCommitted_fullQueueIsRejected_andQueuedCreatesAreWrittenAsOneGroup() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        when(bulkService.createAll(anyList(), any())).thenAnswer(invocation -> {
+            List<SampleEntity> group = invocation.getArgument(0);
+            groupSizes.add(group.size());
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return created(group, invocation.getArgument(1));
+        });
+        writeBehind.start();
+
+        Future<String> first = callers.submit(() -> writeBehind.submit(entity("first")));
+        // The flusher is now busy with the first group; the next two fill the queue
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Future<String> second = callers.submit(() -> writeBehind.submit(entity("second")));
+        Future<String> third = callers.submit(() -> writeBehind.submit(entity("third")));
+        awaitQueueDepth(2);
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(entity("rejected")));
+        assertFalse(first.isDone());
+        assertEquals(1.0, meterRegistry.get("writebehind.rejected").counter().count());
+
+        release.countDown();
+
+        assertEquals(new AsyncCreateStatus(AsyncCreateStatus.State.CREATED, 1L, null),
+                writeBehind.status(first.get(5, TimeUnit.SECONDS)).orElseThrow());
+        assertEquals(AsyncCreateStatus.State.CREATED, writeBehind.status(second.get(5, TimeUnit.SECONDS)).orElseThrow().state());
+        assertEquals(AsyncCreateStatus.State.CREATED, writeBehind.status(third.get(5, TimeUnit.SECONDS)).orElseThrow().state());
+        assertEquals(List.of(1, 2), groupSizes);
+        assertEquals(2, meterRegistry.get("writebehind.flush").timer().count());
+    }
+
+    @Test
+    void failingGroup_recordsEveryCreateAsFailed() {
+        when(bulkService.createAll(anyList(), any())).thenThrow(new IllegalStateException("database down"));
+        writeBehind.start();
+
+        String token = writeBehind.submit(entity("doomed"));
+
+        AsyncCreateStatus status = writeBehind.status(token).orElseThrow();
+        assertEquals(AsyncCreateStatus.State.FAILED, status.state());
+        assertNull(status.id());
+        assertTrue(status.error().contains("IllegalStateException"));
+    }
+
+    @Test
+    void unrecordableFailure_failsTheSubmit() {
+        when(bulkService.createAll(anyList(), any())).thenThrow(new IllegalStateException("database down"));
+        when(outcomes.saveAll(anyList())).thenThrow(new IllegalStateException("still down"));
+        writeBehind.start();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> writeBehind.submit(entity("lost")));
+        assertEquals("still down", e.getMessage());
+    }
+
+    @Test
+    void stop_writesQueuedCreatesBeforeReturning_andThenRejects() throws Exception {
+        when(bulkService.createAll(anyList(), any()))
+                .thenAnswer(invocation -> created(invocation.getArgument(0), invocation.getArgument(1)));
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(entity("too early")));
+        writeBehind.start();
+
+        Future<String> token = callers.submit(() -> writeBehind.submit(entity("drained")));
+        awaitQueueDepthOrDone(token);
+        writeBehind.stop();
+
+        assertEquals(AsyncCreateStatus.State.CREATED,
+                writeBehind.status(token.get(5, TimeUnit.SECONDS)).orElseThrow().state());
+        assertThrows(WriteBehindQueueFullException.class, () -> writeBehind.submit(entity("too late")));
+    }
+
+    @Test
+    void status_unknownOrExpiredToken_isEmpty() {
+        stored.put("expired", AsyncCreate.created("expired", 1L, Instant.now().minusSeconds(60), Instant.now().minusSeconds(1)));
+
+        assertTrue(writeBehind.status("no-such-token").isEmpty());
+        assertTrue(writeBehind.status("expired").isEmpty());
+    }
+
+    private AsyncCreate store(AsyncCreate row) {
+        stored.put(row.getId(), row);
+        return row;
+    }
+
+    /** Creates the group as one chunk, calling back the way the bulk service does inside the transaction. */
+    private List<BulkWriteResult> created(List<SampleEntity> group, BiConsumer<Integer, List<Long>> inTransaction) {
+        List<Long> generated = new ArrayList<>();
+        group.forEach(entity -> generated.add(ids.incrementAndGet()));
+        inTransaction.accept(0, generated);
+        return generated.stream().map(BulkWriteResult::created).toList();
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("writebehind.queue.depth").gauge().value() < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "creates were not queued in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQueueDepthOrDone(Future<?> submitted) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("writebehind.queue.depth").gauge().value() < 1 && !submitted.isDone()
+                && stored.isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "create was not queued in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static SampleEntity entity(String name) {
+        SampleEntity entity = new SampleEntity();
+        entity.setName(name);
+        return entity;
+    }
+}